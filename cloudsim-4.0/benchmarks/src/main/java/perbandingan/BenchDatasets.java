@@ -0,0 +1,26 @@
+package perbandingan;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.cloudbus.cloudsim.Log;
+
+/** Lokasi dataset untuk benchmark: -Dbench.datasets (bawaan ../datasets, relatif folder benchmarks). */
+final class BenchDatasets {
+
+    private static final String DIR = System.getProperty("bench.datasets", "../datasets");
+
+    private BenchDatasets() {}
+
+    static String path(String dataset) throws IOException {
+        File f = new File(DIR, dataset);
+        if (!f.isFile()) throw new IOException("Dataset tidak ditemukan: " + f.getAbsolutePath() + " (atur -Dbench.datasets)");
+        return f.getPath();
+    }
+
+    /** Panjang cloudlet lewat loader pso; log CloudSim dimatikan sekalian. */
+    static long[] lengths(String dataset) throws IOException {
+        Log.disable();
+        return pso.loadDataset(path(dataset));
+    }
+}
@@ -0,0 +1,50 @@
+package perbandingan;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Satu percobaan pso utuh (runSingleSimulation): muat dataset, PSO, buat entitas CloudSim,
+ * simulasi, metrik. Opsi -D pso.* / vm.* diteruskan ke fork lewat -jvmArgsAppend.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class EndToEndBench {
+
+    @State(Scope.Benchmark)
+    public static class Input {
+        @Param({"randomSimple/RandSimple1000.txt", "randomSimple/RandSimple5000.txt", "randomSimple/RandSimple10000.txt",
+                "randomStratified/RandStratified1000.txt", "randomStratified/RandStratified10000.txt", "SDSC/SDSCDataset.txt"})
+        public String dataset;
+
+        String path;
+        int trial;
+
+        @Setup
+        public void setup() throws Exception {
+            path = BenchDatasets.path(dataset);
+            BenchDatasets.lengths(dataset);
+        }
+    }
+
+    @Benchmark
+    public double[] runSingleSimulation(Input in) throws Exception {
+        // percobaan bergilir 1..10 seperti sweep, jadi variasi MIPS VM dan seed ikut terukur
+        int trial = in.trial++ % 10 + 1;
+        return pso.runSingleSimulation(in.path, "bench", trial).toArray();
+    }
+}
@@ -0,0 +1,64 @@
+package perbandingan;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.cloudbus.cloudsim.Vm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Evaluasi makespan penuh: MakespanEvaluator scalar vs vector (VectorMakespan dari ../src-vector).
+ * Fork dijalankan dengan --add-modules jdk.incubator.vector; jika Vector API tetap tidak tersedia,
+ * setup gagal alih-alih diam-diam mengukur scalar dua kali.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class EvaluatorBench {
+
+    @State(Scope.Benchmark)
+    public static class Input {
+        @Param({"randomSimple/RandSimple1000.txt", "randomSimple/RandSimple10000.txt",
+                "randomStratified/RandStratified10000.txt", "SDSC/SDSCDataset.txt"})
+        public String dataset;
+
+        @Param({"scalar", "vector"})
+        public String evaluator;
+
+        MakespanEvaluator eval;
+        int[] assign;
+
+        @Setup
+        public void setup() throws IOException {
+            long[] lengths = BenchDatasets.lengths(dataset);
+            List<Vm> vms = pso.createVmList(-1, pso.NUM_DATACENTERS * pso.HOSTS_PER_DC * pso.VMS_PER_HOST, new Random(1000L));
+            double[] vmMips = pso.vmMipsOf(vms);
+            eval = MakespanEvaluator.create(evaluator, lengths, vmMips);
+            if (!eval.name().startsWith(evaluator)) {
+                throw new IllegalStateException("Evaluator " + evaluator + " tidak tersedia, yang aktif " + eval.name());
+            }
+            Random rnd = new Random(7);
+            assign = new int[lengths.length];
+            for (int i = 0; i < assign.length; i++) assign[i] = rnd.nextInt(vmMips.length);
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    public double makespan(Input in) {
+        return in.eval.makespan(in.assign);
+    }
+}
@@ -0,0 +1,62 @@
+package perbandingan;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * loadDataset lewat tiga jalur DatasetCache: parse teks (sidecar dimatikan), sidecar biner
+ * memory-mapped, dan cache memori dalam JVM.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoaderBench {
+
+    @State(Scope.Benchmark)
+    public static class Input {
+        @Param({"randomSimple/RandSimple1000.txt", "randomSimple/RandSimple10000.txt",
+                "randomStratified/RandStratified1000.txt", "randomStratified/RandStratified10000.txt",
+                "SDSC/SDSCDataset.txt", "SDSC/SDSC7395.txt"})
+        public String dataset;
+
+        String path;
+
+        @Setup
+        public void setup() throws IOException {
+            path = BenchDatasets.path(dataset);
+            pso.loadDataset(path); // sidecar sudah ada sebelum pengukuran
+        }
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-Ddataset.cache=false")
+    public long[] text(Input in) throws IOException {
+        DatasetCache.clearMemory();
+        return pso.loadDataset(in.path);
+    }
+
+    @Benchmark
+    public long[] sidecar(Input in) throws IOException {
+        DatasetCache.clearMemory();
+        return pso.loadDataset(in.path);
+    }
+
+    @Benchmark
+    public long[] memory(Input in) throws IOException {
+        return pso.loadDataset(in.path);
+    }
+}
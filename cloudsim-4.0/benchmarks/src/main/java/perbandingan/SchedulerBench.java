@@ -0,0 +1,67 @@
+package perbandingan;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.cloudbus.cloudsim.Vm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Penjadwal PSO dan fungsi fitness-nya: psoAssign (100 iterasi x 30 partikel, seperti satu
+ * percobaan) dan evalMakespan (satu evaluasi pemetaan penuh).
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+public class SchedulerBench {
+
+    @State(Scope.Benchmark)
+    public static class Input {
+        // trace penuh SDSC/SDSC7395.txt bisa dipilih dengan -p, tetapi psoAssign butuh menit per operasi
+        @Param({"randomSimple/RandSimple1000.txt", "randomSimple/RandSimple5000.txt", "randomSimple/RandSimple10000.txt",
+                "randomStratified/RandStratified1000.txt", "randomStratified/RandStratified5000.txt",
+                "randomStratified/RandStratified10000.txt", "SDSC/SDSCDataset.txt"})
+        public String dataset;
+
+        long[] lengths;
+        double[] vmMips;
+        int[] assign;
+
+        @Setup
+        public void setup() throws IOException {
+            lengths = BenchDatasets.lengths(dataset);
+            List<Vm> vms = pso.createVmList(-1, pso.NUM_DATACENTERS * pso.HOSTS_PER_DC * pso.VMS_PER_HOST, new Random(1000L));
+            vmMips = pso.vmMipsOf(vms);
+            Random rnd = new Random(7);
+            assign = new int[lengths.length];
+            for (int i = 0; i < assign.length; i++) assign[i] = rnd.nextInt(vmMips.length);
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Warmup(iterations = 2, time = 5)
+    @Measurement(iterations = 3, time = 10)
+    public int[] psoAssign(Input in) {
+        return pso.psoAssign(in.lengths, in.vmMips, new Random(2026L));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    public double evalMakespan(Input in) {
+        return pso.evalMakespan(in.lengths, in.vmMips, in.assign);
+    }
+}
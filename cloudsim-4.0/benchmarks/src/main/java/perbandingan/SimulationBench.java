@@ -0,0 +1,77 @@
+package perbandingan;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.cloudbus.cloudsim.Cloudlet;
+import org.cloudbus.cloudsim.DatacenterBroker;
+import org.cloudbus.cloudsim.Vm;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Sisi CloudSim sebelum dan sesudah simulasi: membuat cloudlet dari pemetaan
+ * (createCloudletsWithMapping) dan menghitung metrik dari cloudlet yang selesai (computeMetrics).
+ * Cloudlet selesai untuk computeMetrics berasal dari satu simulasi nyata di setup dengan
+ * pemetaan round-robin.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SimulationBench {
+
+    @State(Scope.Benchmark)
+    public static class Input {
+        @Param({"randomSimple/RandSimple1000.txt", "randomSimple/RandSimple5000.txt", "randomSimple/RandSimple10000.txt",
+                "randomStratified/RandStratified1000.txt", "randomStratified/RandStratified5000.txt",
+                "randomStratified/RandStratified10000.txt", "SDSC/SDSCDataset.txt", "SDSC/SDSC7395.txt"})
+        public String dataset;
+
+        long[] lengths;
+        int[] mapping;
+        List<Vm> vmList;
+        List<Cloudlet> finished;
+
+        @Setup
+        public void setup() throws Exception {
+            lengths = BenchDatasets.lengths(dataset);
+            CloudSim.init(1, Calendar.getInstance(), false);
+            DatacenterBroker broker = new DatacenterBroker("BenchBroker");
+            for (int i = 0; i < pso.NUM_DATACENTERS; i++) pso.createDatacenter("DC_" + i);
+            vmList = pso.createVmList(broker.getId(), pso.NUM_DATACENTERS * pso.HOSTS_PER_DC * pso.VMS_PER_HOST, new Random(1000L));
+            broker.submitVmList(vmList);
+
+            mapping = new int[lengths.length];
+            for (int i = 0; i < mapping.length; i++) mapping[i] = i % vmList.size();
+            broker.submitCloudletList(pso.createCloudletsWithMapping(broker.getId(), vmList, lengths, mapping));
+            CloudSim.startSimulation();
+            finished = new ArrayList<>(broker.getCloudletReceivedList());
+            CloudSim.stopSimulation();
+        }
+    }
+
+    @Benchmark
+    public List<Cloudlet> createCloudletsWithMapping(Input in) {
+        return pso.createCloudletsWithMapping(0, in.vmList, in.lengths, in.mapping);
+    }
+
+    @Benchmark
+    public double[] computeMetrics(Input in) {
+        return pso.computeMetrics(in.finished, in.vmList, in.lengths.length).toArray();
+    }
+}
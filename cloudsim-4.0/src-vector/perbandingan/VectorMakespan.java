@@ -0,0 +1,83 @@
+package perbandingan;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Evaluator makespan dengan jdk.incubator.vector (JDK 16+), dibandingkan dengan scalar oleh
+ * {@code DiagnostikPso evaluator}.
+ *
+ * Tiap lane SIMD menjumlah ke salinan beban VM miliknya sendiri (offset lane * m), sehingga
+ * gather/scatter dalam satu vektor tidak pernah bertabrakan walau beberapa cloudlet menuju VM
+ * yang sama. Salinan per lane dijumlah di akhir, lalu pembagian MIPS & maksimum juga per vektor.
+ *
+ * Kompilasi terpisah dari src/ karena butuh modul inkubator. Modul benchmarks mengompilasinya
+ * bersama src/ dan mengukurnya di EvaluatorBench; untuk diagnostik tanpa Maven:
+ *   javac --add-modules jdk.incubator.vector -cp bin -d bin src-vector/perbandingan/VectorMakespan.java
+ *   java --add-modules jdk.incubator.vector -cp bin:jars/cloudsim-4.0.jar perbandingan.DiagnostikPso evaluator
+ */
+final class VectorMakespan extends MakespanEvaluator {
+
+    private static final VectorSpecies<Double> D = DoubleVector.SPECIES_PREFERRED;
+    // indeks int dengan jumlah lane sama dengan vektor double
+    private static final VectorSpecies<Integer> I =
+            VectorSpecies.of(int.class, VectorShape.forBitSize(D.vectorBitSize() / 2));
+
+    private final int m;
+    private final double[] len;     // panjang cloudlet sebagai double, dihitung sekali per percobaan
+    private final double[] partial; // beban per lane per VM
+    private final double[] sums;
+    private final int[] idx;
+    private final IntVector laneBase;
+
+    VectorMakespan(long[] lengths, double[] vmMips) {
+        super(lengths, vmMips);
+        m = vmMips.length;
+        len = new double[lengths.length];
+        for (int i = 0; i < lengths.length; i++) len[i] = lengths[i];
+        partial = new double[D.length() * m];
+        sums = new double[m];
+        idx = new int[D.length()];
+        int[] base = new int[D.length()];
+        for (int k = 0; k < base.length; k++) base[k] = k * m;
+        laneBase = IntVector.fromArray(I, base, 0);
+    }
+
+    @Override
+    double makespan(int[] assign) {
+        java.util.Arrays.fill(partial, 0.0);
+        int n = len.length;
+        int i = 0;
+        for (int upper = D.loopBound(n); i < upper; i += D.length()) {
+            IntVector.fromArray(I, assign, i).add(laneBase).intoArray(idx, 0);
+            DoubleVector.fromArray(D, partial, 0, idx, 0)
+                    .add(DoubleVector.fromArray(D, len, i))
+                    .intoArray(partial, 0, idx, 0);
+        }
+        for (; i < n; i++) partial[assign[i]] += len[i]; // sisa masuk lane 0
+
+        for (int v = 0; v < m; v++) {
+            double s = 0;
+            for (int k = 0; k < D.length(); k++) s += partial[k * m + v];
+            sums[v] = s;
+        }
+
+        double max = 0;
+        for (int v = 0; v < m; v += D.length()) {
+            VectorMask<Double> inRange = D.indexInRange(v, m);
+            DoubleVector t = DoubleVector.fromArray(D, sums, v, inRange)
+                    .div(DoubleVector.fromArray(D, vmMips, v, inRange), inRange);
+            max = Math.max(max, t.reduceLanes(VectorOperators.MAX, inRange));
+        }
+        return max;
+    }
+
+    @Override
+    String name() {
+        return "vector(" + D.length() + " lane)";
+    }
+}
@@ -0,0 +1,177 @@
+package baru;
+
+import org.cloudbus.cloudsim.Cloudlet;
+import org.cloudbus.cloudsim.DatacenterBroker;
+import org.cloudbus.cloudsim.UtilizationModel;
+import org.cloudbus.cloudsim.UtilizationModelFull;
+import org.cloudbus.cloudsim.Vm;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.CloudSimTags;
+import org.cloudbus.cloudsim.core.SimEvent;
+import perbandingan.MetricsAccumulator;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Broker yang melepas cloudlet pada waktu kedatangannya di trace, bukan sekaligus di t=0.
+ *
+ * Job ditarik dari {@link SwfWorkload} satu per satu: hanya satu event pelepasan yang menunggu
+ * di antrean CloudSim, dan cloudlet yang kembali langsung diringkas ke {@link Metrics} lalu
+ * dibuang, jadi memori sebanding dengan cloudlet yang sedang berjalan, bukan panjang trace.
+ * Waktu kedatangan relatif terhadap job pertama, dimulai saat semua VM selesai dibuat.
+ *
+ * Dispatch online (-Dswf.dispatch): rr = round-robin, least = VM dengan sisa kerja (MI / MIPS)
+ * terkecil saat cloudlet datang.
+ */
+public class ArrivalBroker extends DatacenterBroker {
+
+    private static final int RELEASE = 930_001; // tag internal event pelepasan
+
+    private final SwfWorkload workload;
+    private final boolean leastLoaded;
+    private final Metrics metrics;
+    private final UtilizationModel um = new UtilizationModelFull();
+
+    private List<Vm> vms;
+    private final Map<Integer, Integer> vmIndex = new HashMap<>();
+    private double[] outstandingMi;
+    private int rrNext;
+
+    private double origin = Double.NaN; // submit time job pertama
+    private double start;               // waktu simulasi saat pelepasan dimulai
+    private boolean finished;
+
+    public ArrivalBroker(String name, SwfWorkload workload, String dispatch) throws Exception {
+        super(name);
+        if (!"rr".equals(dispatch) && !"least".equals(dispatch)) {
+            throw new IllegalArgumentException("Dispatch tidak dikenal: " + dispatch + " (rr|least)");
+        }
+        this.workload = workload;
+        this.leastLoaded = "least".equals(dispatch);
+        this.metrics = new Metrics();
+    }
+
+    public Metrics metrics() {
+        return metrics;
+    }
+
+    // dipanggil DatacenterBroker setelah semua VM di-ack; ganti pengiriman batch dengan jadwal kedatangan
+    @Override
+    protected void submitCloudlets() {
+        vms = getVmsCreatedList();
+        outstandingMi = new double[vms.size()];
+        for (int i = 0; i < vms.size(); i++) vmIndex.put(vms.get(i).getId(), i);
+        metrics.vmCount = vms.size();
+        start = CloudSim.clock();
+        scheduleNextRelease();
+    }
+
+    @Override
+    protected void processOtherEvent(SimEvent ev) {
+        if (ev.getTag() != RELEASE) {
+            super.processOtherEvent(ev);
+            return;
+        }
+        // event ini dijadwalkan untuk job terdepan; lepaskan juga job lain yang datang bersamaan
+        release(workload.next());
+        while (workload.hasNext() && arrivalOf(workload.peek()) <= CloudSim.clock()) release(workload.next());
+        scheduleNextRelease();
+    }
+
+    @Override
+    protected void processCloudletReturn(SimEvent ev) {
+        Cloudlet c = (Cloudlet) ev.getData();
+        metrics.add(c);
+        Integer v = vmIndex.get(c.getVmId());
+        if (v != null) outstandingMi[v] -= c.getCloudletLength();
+        cloudletsSubmitted--;
+        finishIfDone();
+    }
+
+    private void scheduleNextRelease() {
+        if (!workload.hasNext()) {
+            finishIfDone();
+            return;
+        }
+        SwfWorkload.Job next = workload.peek();
+        if (Double.isNaN(origin)) origin = next.submitTime;
+        schedule(getId(), Math.max(0.0, arrivalOf(next) - CloudSim.clock()), RELEASE);
+    }
+
+    private double arrivalOf(SwfWorkload.Job job) {
+        return start + (job.submitTime - origin);
+    }
+
+    private void release(SwfWorkload.Job job) {
+        int v = pickVm();
+        Vm vm = vms.get(v);
+        Cloudlet c = new Cloudlet(job.id, job.length, ContohCloudsim.CLOUDLET_PES,
+                ContohCloudsim.CLOUDLET_FILE_SIZE, ContohCloudsim.CLOUDLET_OUTPUT_SIZE, um, um, um);
+        c.setUserId(getId());
+        c.setVmId(vm.getId());
+        outstandingMi[v] += job.length;
+        sendNow(getVmsToDatacentersMap().get(vm.getId()), CloudSimTags.CLOUDLET_SUBMIT, c);
+        cloudletsSubmitted++;
+    }
+
+    private int pickVm() {
+        if (!leastLoaded) return rrNext++ % vms.size();
+        int best = 0;
+        double bestT = Double.POSITIVE_INFINITY;
+        for (int v = 0; v < vms.size(); v++) {
+            double t = outstandingMi[v] / vms.get(v).getMips();
+            if (t < bestT) { bestT = t; best = v; }
+        }
+        return best;
+    }
+
+    private void finishIfDone() {
+        if (finished || workload.hasNext() || cloudletsSubmitted > 0) return;
+        finished = true;
+        clearDatacenters();
+        finishExecution();
+    }
+
+    /**
+     * Ringkasan cloudlet selesai yang diakumulasi tanpa menyimpan cloudlet-nya.
+     * Definisi kolom sama dengan ContohCloudsim.computeMetrics, kecuali utilisasi dihitung
+     * terhadap VM yang berhasil dibuat.
+     */
+    public static final class Metrics {
+        private final MetricsAccumulator acc = new MetricsAccumulator(64);
+        private int vmCount;
+
+        void add(Cloudlet c) {
+            acc.add(c);
+        }
+
+        public long count() {
+            return acc.count();
+        }
+
+        /** {n, totalWait, avgStart, avgExec, avgFinish, throughput, totalCpu, makespan, imbalance, util%, persentil...}. */
+        public double[] toArray() {
+            double[] r = new double[10 + MetricsAccumulator.PERCENTILES];
+            long n = acc.count();
+            if (n == 0) return r;
+            double makespan = acc.maxFinish() - acc.minSubmit();
+            if (makespan <= 0) makespan = acc.maxFinish();
+            double sumExec = acc.sumExec();
+            double util = (makespan > 0 && vmCount > 0) ? (sumExec / (vmCount * makespan)) * 100.0 : 0.0;
+            r[0] = n;
+            r[1] = acc.sumWait();
+            r[2] = acc.sumStart() / n;
+            r[3] = sumExec / n;
+            r[4] = acc.sumFinish() / n;
+            r[5] = makespan > 0 ? n / makespan : 0.0;
+            r[6] = sumExec;
+            r[7] = makespan;
+            r[8] = acc.execImbalance();
+            r[9] = util;
+            acc.percentiles(r, 10);
+            return r;
+        }
+    }
+}
@@ -1,7 +1,7 @@
 package baru;
 
 import org.cloudbus.cloudsim.Cloudlet;
-import org.cloudbus.cloudsim.CloudletSchedulerTimeShared;
+import org.cloudbus.cloudsim.CloudletScheduler;
 import org.cloudbus.cloudsim.Datacenter;
 import org.cloudbus.cloudsim.DatacenterBroker;
 import org.cloudbus.cloudsim.DatacenterCharacteristics;
@@ -17,30 +17,38 @@ import org.cloudbus.cloudsim.core.CloudSim;
 import org.cloudbus.cloudsim.provisioners.BwProvisionerSimple;
 import org.cloudbus.cloudsim.provisioners.PeProvisionerSimple;
 import org.cloudbus.cloudsim.provisioners.RamProvisionerSimple;
+import perbandingan.CloudletMapper;
+import perbandingan.CloudletSchedulerTimeSharedPq;
+import perbandingan.DatasetCache;
+import perbandingan.MetricsAccumulator;
+import perbandingan.ResultCache;
+import perbandingan.SweepCheckpoint;
+import perbandingan.SweepExecutor;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 // ⚠️ sengaja TIDAK meng-import java.io.File supaya tidak bentrok dengan org.cloudbus.cloudsim.File
 import java.util.*;
 import java.util.stream.Collectors;
 
 /**
- * Baseline Round-Robin sesuai spesifikasi.
+ * Baseline Round-Robin sesuai spesifikasi; mapper lain bisa dipilih dengan -Dmapper=lpt|minmin|maxmin.
  */
 public class ContohCloudsim {
 
     private static final String[] DATASET_FOLDERS = {"randomSimple", "randomStratified", "SDSC"};
     private static final String DATASETS_ROOT = "datasets";
-    private static final String OUT_DIR = "out";
+    static final String OUT_DIR = "out";
 
     private static final int RUNS_PER_FILE = 10;
+    private static final int BASE_COLUMNS = 10; // nilai computeMetrics sebelum persentil
 
-    private static final int NUM_DATACENTERS = 6;
-    private static final int HOSTS_PER_DC = 3;
-    private static final int VMS_PER_HOST = 3;
+    static final int NUM_DATACENTERS = 6;
+    static final int HOSTS_PER_DC = 3;
+    static final int VMS_PER_HOST = 3;
 
     // Host spec
     private static final int HOST_RAM_MB = 6144;
@@ -54,107 +62,48 @@ public class ContohCloudsim {
     private static final int VM_RAM_MB = 512;
     private static final long VM_SIZE_MB = 10_000L;
     private static final long VM_BW = 1_000;
-    private static final int VM_MIPS = 1000;
+    static final int VM_MIPS = 1000;
     private static final int VM_PES = 1;
     private static final String VM_VMM = "Xen";
 
     // Cloudlet spec
-    private static final long CLOUDLET_FILE_SIZE = 300;
-    private static final long CLOUDLET_OUTPUT_SIZE = 300;
-    private static final int CLOUDLET_PES = 1;
+    static final long CLOUDLET_FILE_SIZE = 300;
+    static final long CLOUDLET_OUTPUT_SIZE = 300;
+    static final int CLOUDLET_PES = 1;
 
-    // ===== SmartBroker (Round-Robin) =====
+    // Pemetaan cloudlet -> VM, bawaan round-robin
+    private static final CloudletMapper MAPPER = CloudletMapper.of(System.getProperty("mapper", "rr"));
+
+    // Hasil run per isi dataset + parameter, bertahan antar eksekusi (-Dresult.cache=false untuk mematikan)
+    private static final ResultCache RESULTS = new ResultCache(OUT_DIR + java.io.File.separator + "cache");
+
+    // ===== SmartBroker (Round-Robin atau mapper lain), bind per cloudlet; main memakai MappedBroker =====
     public static class SmartBroker extends DatacenterBroker {
-        private int rrIndex = 0;
-        public SmartBroker(String name) throws Exception { super(name); }
+        private final CloudletMapper mapper;
+        public SmartBroker(String name) throws Exception { this(name, CloudletMapper.of("rr")); }
+        public SmartBroker(String name, CloudletMapper mapper) throws Exception {
+            super(name);
+            this.mapper = mapper;
+        }
         @Override
         public void submitCloudletList(List<? extends Cloudlet> list) {
             super.submitCloudletList(list);
             if (getVmList() == null || getVmList().isEmpty()) return;
-            for (Cloudlet cl : list) {
-                int vmId = getVmList().get(rrIndex % getVmList().size()).getId();
-                bindCloudletToVm(cl.getCloudletId(), vmId);
-                rrIndex++;
+            long[] lengths = new long[list.size()];
+            for (int i = 0; i < lengths.length; i++) lengths[i] = list.get(i).getCloudletLength();
+            double[] vmMips = new double[getVmList().size()];
+            for (int j = 0; j < vmMips.length; j++) vmMips[j] = getVmList().get(j).getMips();
+            int[] mapping = mapper.map(lengths, vmMips);
+            for (int i = 0; i < lengths.length; i++) {
+                int vmId = getVmList().get(mapping[i]).getId();
+                bindCloudletToVm(list.get(i).getCloudletId(), vmId);
             }
         }
     }
 
     public static void main(String[] args) {
         try {
-            ensureDir(OUT_DIR);
-
-            for (String folder : DATASET_FOLDERS) {
-                String folderPath = DATASETS_ROOT + java.io.File.separator + folder;
-                List<java.io.File> txtFiles = listTxtFiles(folderPath);
-                if (txtFiles.isEmpty()) {
-                    System.out.println("Tidak ada file .txt di " + folderPath + " — lewati.");
-                    continue;
-                }
-
-                java.io.File outFile = new java.io.File(OUT_DIR, folder + ".csv");
-                java.io.File summaryFile = new java.io.File(OUT_DIR, folder + "_summary.csv");
-
-                try (PrintWriter pw = new PrintWriter(new FileWriter(outFile, false));
-                     PrintWriter ps = new PrintWriter(new FileWriter(summaryFile, false))) {
-
-                    pw.println("DatasetFile,Run,TotalCloudlet,TotalCPUTime(s),TotalWaitTime(s),AvgStartTime(s),AvgExecTime(s),AvgFinishTime(s),Throughput(c/s),Makespan(s),ImbalanceDegree,ResourceUtilization(%)");
-                    ps.println("DatasetFile,Runs,Avg_Makespan,Std_Makespan,Avg_Throughput,Std_Throughput,Avg_AvgExecTime,Std_AvgExecTime,Avg_Imbalance,Std_Imbalance,Avg_Utilization(%),Std_Utilization(%)");
-
-                    for (java.io.File f : txtFiles) {
-                        List<double[]> metricsList = new ArrayList<>();
-
-                        for (int run = 1; run <= RUNS_PER_FILE; run++) {
-                            CloudSim.init(1, Calendar.getInstance(), false);
-
-                            for (int dc = 0; dc < NUM_DATACENTERS; dc++) {
-                                createDatacenter("DC_" + dc, HOSTS_PER_DC);
-                            }
-
-                            SmartBroker broker = new SmartBroker("Broker_" + run);
-                            int brokerId = broker.getId();
-                            int totalVM = NUM_DATACENTERS * HOSTS_PER_DC * VMS_PER_HOST;
-                            List<Vm> vmList = createVmList(brokerId, totalVM);
-                            broker.submitVmList(vmList);
-
-                            List<Cloudlet> cloudlets = createCloudletListFromFile(brokerId, f.getPath());
-                            if (cloudlets.isEmpty()) break;
-                            broker.submitCloudletList(cloudlets);
-
-                            CloudSim.startSimulation();
-                            List<Cloudlet> finished = broker.getCloudletReceivedList();
-                            CloudSim.stopSimulation();
-
-                            double[] m = computeMetrics(finished, vmList.size());
-                            metricsList.add(m);
-
-                            pw.printf(Locale.US,
-                                    "%s,%d,%.0f,%.4f,%.4f,%.4f,%.4f,%.4f,%.6f,%.4f,%.6f,%.4f%n",
-                                    f.getName(), run,
-                                    m[0], m[6], m[1], m[2], m[3], m[4], m[5], m[7], m[8], m[9]);
-                        }
-
-                        double avgMakespan = mean(metricsList, 7);
-                        double stdMakespan = stddev(metricsList, 7, avgMakespan);
-                        double avgThroughput = mean(metricsList, 5);
-                        double stdThroughput = stddev(metricsList, 5, avgThroughput);
-                        double avgExecTime = mean(metricsList, 3);
-                        double stdExecTime = stddev(metricsList, 3, avgExecTime);
-                        double avgImb = mean(metricsList, 8);
-                        double stdImb = stddev(metricsList, 8, avgImb);
-                        double avgUtil = mean(metricsList, 9);
-                        double stdUtil = stddev(metricsList, 9, avgUtil);
-
-                        ps.printf(Locale.US,
-                                "%s,%d,%.4f,%.4f,%.6f,%.6f,%.4f,%.4f,%.6f,%.6f,%.4f,%.4f%n",
-                                f.getName(), RUNS_PER_FILE,
-                                avgMakespan, stdMakespan,
-                                avgThroughput, stdThroughput,
-                                avgExecTime, stdExecTime,
-                                avgImb, stdImb,
-                                avgUtil, stdUtil);
-                    }
-                }
-            }
+            for (String folder : DATASET_FOLDERS) sweepFolder(folder);
 
             System.out.println("Selesai. CSV ada di folder: " + OUT_DIR);
         } catch (Exception e) {
@@ -162,6 +111,159 @@ public class ContohCloudsim {
         }
     }
 
+    /** Semua file .txt satu folder dataset x RUNS_PER_FILE run; dipakai main dan FarmCoordinator. */
+    public static void sweepFolder(String folder) throws Exception {
+        ensureDir(OUT_DIR);
+        String folderPath = DATASETS_ROOT + java.io.File.separator + folder;
+        List<java.io.File> txtFiles = listTxtFiles(folderPath);
+        if (txtFiles.isEmpty()) {
+            System.out.println("Tidak ada file .txt di " + folderPath + " — lewati.");
+            return;
+        }
+
+        String mapperTag = "rr".equals(MAPPER.name()) ? "" : "_" + MAPPER.name();
+        java.io.File outFile = new java.io.File(OUT_DIR, folder + mapperTag + ".csv");
+        java.io.File summaryFile = new java.io.File(OUT_DIR, folder + mapperTag + "_summary.csv");
+        java.io.File outTmp = new java.io.File(OUT_DIR, outFile.getName() + ".tmp");
+        java.io.File summaryTmp = new java.io.File(OUT_DIR, summaryFile.getName() + ".tmp");
+
+        // Run yang selesai dicatat di checkpoint (-Dsweep.resume=true melanjutkan sweep yang terputus);
+        // CSV ditulis ke file sementara lalu di-rename sehingga crash tidak meninggalkan CSV setengah jadi.
+        SweepCheckpoint checkpoint = SweepCheckpoint.open(
+                OUT_DIR + java.io.File.separator + "checkpoint" + java.io.File.separator + folder + mapperTag + ".ckpt",
+                ContohCloudsim.class.getName(), 0);
+        try (checkpoint;
+             PrintWriter pw = new PrintWriter(new FileWriter(outTmp, false));
+             PrintWriter ps = new PrintWriter(new FileWriter(summaryTmp, false))) {
+
+            pw.println("DatasetFile,Run,TotalCloudlet,TotalCPUTime(s),TotalWaitTime(s),AvgStartTime(s),AvgExecTime(s),AvgFinishTime(s),Throughput(c/s),Makespan(s),ImbalanceDegree,ResourceUtilization(%),"
+                    + String.join(",", MetricsAccumulator.PERCENTILE_COLUMNS));
+            ps.println("DatasetFile,Runs,Avg_Makespan,Std_Makespan,Avg_Throughput,Std_Throughput,Avg_AvgExecTime,Std_AvgExecTime,Avg_Imbalance,Std_Imbalance,Avg_Utilization(%),Std_Utilization(%),Avg_"
+                    + String.join(",Avg_", MetricsAccumulator.PERCENTILE_COLUMNS));
+
+            // Run ContohCloudsim tidak bergantung pada nomor run (tanpa shuffle/seed, MIPS VM tetap), jadi
+            // dengan cache aktif tiap file cukup disimulasikan sekali dan hasilnya dipakai untuk semua run.
+            boolean memo = ResultCache.enabled();
+            int simulatedRuns = memo ? 1 : RUNS_PER_FILE;
+            String[] keys = new String[txtFiles.size()];
+            double[][] cached = new double[txtFiles.size()][];
+            List<Object[]> runs = new ArrayList<>();
+            List<String> runKeys = new ArrayList<>();
+            List<Integer> runFile = new ArrayList<>();
+            for (int fi = 0; fi < txtFiles.size(); fi++) {
+                String path = txtFiles.get(fi).getPath();
+                keys[fi] = runKey(path);
+                if (memo) {
+                    cached[fi] = RESULTS.get(keys[fi]);
+                    if (cached[fi] != null) continue;
+                }
+                for (int run = 1; run <= simulatedRuns; run++) {
+                    runs.add(new Object[]{path, run});
+                    runKeys.add(keys[fi] + "#" + run);
+                    runFile.add(fi);
+                }
+            }
+            long resumed = runKeys.stream().filter(checkpoint::contains).count();
+            System.out.printf(Locale.US, "%s: %d file, %d run disimulasikan, %d file dari cache, %d run dari checkpoint%n",
+                    folder, txtFiles.size(), runs.size() - resumed, txtFiles.size() - runs.size() / simulatedRuns, resumed);
+
+            // hasil kembali urut file lalu run; file dari cache disisipkan pada urutannya
+            int[] nextFile = {0};
+            List<double[]> metricsList = new ArrayList<>();
+            try (SweepExecutor sweep = new SweepExecutor(ContohCloudsim.class.getName(), "runOnce")) {
+                sweep.run(runs, runKeys, checkpoint, (i, m) -> {
+                    int fi = runFile.get(i);
+                    metricsList.add(m);
+                    if (metricsList.size() < simulatedRuns) return;
+
+                    for (; nextFile[0] < fi; nextFile[0]++) {
+                        writeFileRows(pw, ps, txtFiles.get(nextFile[0]), Collections.nCopies(RUNS_PER_FILE, cached[nextFile[0]]));
+                    }
+                    if (memo && m != null) RESULTS.put(keys[fi], m);
+                    writeFileRows(pw, ps, txtFiles.get(fi), memo ? Collections.nCopies(RUNS_PER_FILE, m) : new ArrayList<>(metricsList));
+                    nextFile[0] = fi + 1;
+                    metricsList.clear();
+                });
+            }
+            for (; nextFile[0] < txtFiles.size(); nextFile[0]++) {
+                writeFileRows(pw, ps, txtFiles.get(nextFile[0]), Collections.nCopies(RUNS_PER_FILE, cached[nextFile[0]]));
+            }
+        }
+        Files.move(outTmp.toPath(), outFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        Files.move(summaryTmp.toPath(), summaryFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        checkpoint.complete();
+    }
+
+    // baris per run dan ringkasan satu file; run dengan hasil null (dataset kosong) tidak ditulis
+    private static void writeFileRows(PrintWriter pw, PrintWriter ps, java.io.File f, List<double[]> perRun) {
+        MetricsAccumulator.Trials trials = new MetricsAccumulator.Trials(BASE_COLUMNS + MetricsAccumulator.PERCENTILES);
+        for (int run = 1; run <= perRun.size(); run++) {
+            double[] m = perRun.get(run - 1);
+            if (m == null) break;
+            trials.add(m);
+
+            pw.printf(Locale.US,
+                    "%s,%d,%.0f,%.4f,%.4f,%.4f,%.4f,%.4f,%.6f,%.4f,%.6f,%.4f%s%n",
+                    f.getName(), run,
+                    m[0], m[6], m[1], m[2], m[3], m[4], m[5], m[7], m[8], m[9], percentileColumns(m));
+        }
+
+        // jumlah run logis, termasuk yang diambil dari cache
+        ps.printf(Locale.US,
+                "%s,%d,%.4f,%.4f,%.6f,%.6f,%.4f,%.4f,%.6f,%.6f,%.4f,%.4f%s%n",
+                f.getName(), RUNS_PER_FILE,
+                trials.mean(7), trials.stddev(7),
+                trials.mean(5), trials.stddev(5),
+                trials.mean(3), trials.stddev(3),
+                trials.mean(8), trials.stddev(8),
+                trials.mean(9), trials.stddev(9),
+                percentileColumns(trials.means()));
+    }
+
+    private static String percentileColumns(double[] m) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = BASE_COLUMNS; i < BASE_COLUMNS + MetricsAccumulator.PERCENTILES; i++) {
+            sb.append(String.format(Locale.US, ",%.4f", m[i]));
+        }
+        return sb.toString();
+    }
+
+    // semua yang memengaruhi hasil runOnce: isi dataset, spesifikasi infrastruktur, mapper, scheduler
+    private static String runKey(String datasetPath) throws IOException {
+        return ResultCache.key(datasetPath, ContohCloudsim.class.getName(),
+                NUM_DATACENTERS, HOSTS_PER_DC, VMS_PER_HOST,
+                HOST_RAM_MB, HOST_STORAGE_MB, HOST_BW, HOST_PES, HOST_PE_MIPS, HOST_COST_PER_SEC,
+                VM_RAM_MB, VM_SIZE_MB, VM_BW, VM_MIPS, VM_PES, VM_VMM,
+                CLOUDLET_FILE_SIZE, CLOUDLET_OUTPUT_SIZE, CLOUDLET_PES,
+                MAPPER.name(), System.getProperty("vm.scheduler", "pq"));
+    }
+
+    // satu run simulasi; null jika dataset kosong. Titik masuk SweepExecutor.
+    private static double[] runOnce(String datasetPath, int run) throws Exception {
+        CloudSim.init(1, Calendar.getInstance(), false);
+
+        for (int dc = 0; dc < NUM_DATACENTERS; dc++) {
+            createDatacenter("DC_" + dc, HOSTS_PER_DC);
+        }
+
+        MappedBroker broker = new MappedBroker("Broker_" + run);
+        int brokerId = broker.getId();
+        int totalVM = NUM_DATACENTERS * HOSTS_PER_DC * VMS_PER_HOST;
+        List<Vm> vmList = createVmList(brokerId, totalVM);
+        broker.submitVmList(vmList);
+
+        // VM tiap cloudlet dipasang saat dibuat; broker mengirim tanpa bindCloudletToVm
+        List<Cloudlet> cloudlets = createCloudletListFromFile(brokerId, datasetPath, vmList);
+        if (cloudlets.isEmpty()) return null;
+        broker.submitCloudletList(cloudlets);
+
+        CloudSim.startSimulation();
+        List<Cloudlet> finished = broker.getCloudletReceivedList();
+        CloudSim.stopSimulation();
+
+        return computeMetrics(finished, vmList.size());
+    }
+
     // -------- Files / dataset helpers --------
     private static List<java.io.File> listTxtFiles(String dirPath) {
         java.io.File d = new java.io.File(dirPath);
@@ -171,13 +273,13 @@ public class ContohCloudsim {
         return Arrays.stream(arr).sorted(Comparator.comparing(java.io.File::getName)).collect(Collectors.toList());
     }
 
-    private static void ensureDir(String path) {
+    static void ensureDir(String path) {
         java.io.File d = new java.io.File(path);
         if (!d.exists()) d.mkdirs();
     }
 
     // -------- Infra: datacenter / host / vm --------
-    private static Datacenter createDatacenter(String name, int hostsCount) throws Exception {
+    static Datacenter createDatacenter(String name, int hostsCount) throws Exception {
         List<Host> hostList = new ArrayList<>();
         for (int h = 0; h < hostsCount; h++) {
             List<Pe> peList = new ArrayList<>();
@@ -203,110 +305,82 @@ public class ContohCloudsim {
         return new Datacenter(name, ch, new VmAllocationPolicySimple(hostList), new LinkedList<Storage>(), 0);
     }
 
-    private static List<Vm> createVmList(int brokerId, int totalVm) {
+    static List<Vm> createVmList(int brokerId, int totalVm) {
+        return createVmList(brokerId, totalVm, CloudletSchedulerTimeSharedPq::create);
+    }
+
+    // scheduler eksplisit, untuk membandingkan dengan CloudletSchedulerTimeShared bawaan
+    static List<Vm> createVmList(int brokerId, int totalVm, java.util.function.Supplier<CloudletScheduler> scheduler) {
         List<Vm> list = new ArrayList<>(totalVm);
         for (int i = 0; i < totalVm; i++) {
-            Vm vm = new Vm(i, brokerId, VM_MIPS, VM_PES, VM_RAM_MB, VM_BW, VM_SIZE_MB, VM_VMM, new CloudletSchedulerTimeShared());
+            Vm vm = new Vm(i, brokerId, VM_MIPS, VM_PES, VM_RAM_MB, VM_BW, VM_SIZE_MB, VM_VMM, scheduler.get());
             list.add(vm);
         }
         return list;
     }
 
     // -------- Workload (cloudlets) --------
-    private static List<Cloudlet> createCloudletListFromFile(int brokerId, String filePath) {
+    private static List<Cloudlet> createCloudletListFromFile(int brokerId, String filePath, List<Vm> vmList) {
         List<Long> lengths = new ArrayList<>();
-        try (BufferedReader br = new BufferedReader(new FileReader(filePath))) {
-            for (String line; (line = br.readLine()) != null;) {
-                line = line.trim();
-                if (line.isEmpty()) continue;
-                try {
-                    long l = Long.parseLong(line);
-                    if (l > 0) lengths.add(l);
-                } catch (NumberFormatException ignored) {}
+        try {
+            // parse teks sekali, selanjutnya dari sidecar biner / cache memori
+            for (long l : DatasetCache.load(filePath)) {
+                if (l > 0) lengths.add(l);
             }
         } catch (IOException e) {
             System.out.println("Gagal baca file " + filePath + " -> " + e.getMessage());
         }
         if (lengths.isEmpty()) return Collections.emptyList();
 
-        List<Cloudlet> cloudlets = new ArrayList<>(lengths.size());
+        long[] lens = new long[lengths.size()];
+        for (int i = 0; i < lens.length; i++) lens[i] = lengths.get(i);
+        double[] vmMips = new double[vmList.size()];
+        int[] vmIds = new int[vmList.size()];
+        for (int j = 0; j < vmMips.length; j++) {
+            vmMips[j] = vmList.get(j).getMips();
+            vmIds[j] = vmList.get(j).getId();
+        }
+        int[] mapping = MAPPER.map(lens, vmMips);
+
+        List<Cloudlet> cloudlets = new ArrayList<>(lens.length);
         UtilizationModel um = new UtilizationModelFull();
-        int id = 0;
-        for (long len : lengths) {
-            Cloudlet c = new Cloudlet(id++, len, CLOUDLET_PES, CLOUDLET_FILE_SIZE, CLOUDLET_OUTPUT_SIZE, um, um, um);
+        for (int id = 0; id < lens.length; id++) {
+            Cloudlet c = new Cloudlet(id, lens[id], CLOUDLET_PES, CLOUDLET_FILE_SIZE, CLOUDLET_OUTPUT_SIZE, um, um, um);
             c.setUserId(brokerId);
+            c.setVmId(vmIds[mapping[id]]);
             cloudlets.add(c);
         }
         return cloudlets;
     }
 
     // -------- Metrics --------
+    // {n, totalWait, avgStart, avgExec, avgFinish, throughput, totalCpu, makespan, imbalance, util%, persentil...}
     private static double[] computeMetrics(List<Cloudlet> finished, int numVMs) {
-        if (finished == null || finished.isEmpty()) {
-            return new double[]{0,0,0,0,0,0,0,0,0,0};
-        }
+        double[] r = new double[BASE_COLUMNS + MetricsAccumulator.PERCENTILES];
+        if (finished == null || finished.isEmpty()) return r;
 
-        int n = finished.size();
-        double sumWait = 0.0, sumStart = 0.0, sumExec = 0.0, sumFinish = 0.0;
-        double minSubmit = Double.POSITIVE_INFINITY, maxFinish = Double.NEGATIVE_INFINITY;
-
-        Map<Integer, Double> execPerVm = new HashMap<>();
-
-        for (Cloudlet c : finished) {
-            double submit = c.getSubmissionTime();
-            double start = c.getExecStartTime();
-            double finish = c.getFinishTime();
-            double wait = c.getWaitingTime();
-            double exec = c.getActualCPUTime();
-
-            minSubmit = Math.min(minSubmit, submit);
-            maxFinish = Math.max(maxFinish, finish);
-
-            sumWait += wait;
-            sumStart += start;
-            sumExec += exec;
-            sumFinish += finish;
-
-            execPerVm.merge(c.getVmId(), exec, Double::sum);
-        }
+        MetricsAccumulator acc = new MetricsAccumulator(numVMs);
+        for (Cloudlet c : finished) acc.add(c);
 
+        long n = acc.count();
+        double minSubmit = acc.minSubmit(), maxFinish = acc.maxFinish();
         double makespan = maxFinish - (Double.isFinite(minSubmit) ? minSubmit : 0.0);
         if (makespan <= 0) makespan = maxFinish;
 
-        double avgStart = sumStart / n;
-        double avgExec = sumExec / n;
-        double avgFinish = sumFinish / n;
-        double throughput = (makespan > 0) ? (n / makespan) : 0.0;
-        double totalCpuTime = sumExec;
-
-        double minExecVM = Double.POSITIVE_INFINITY, maxExecVM = Double.NEGATIVE_INFINITY, sumExecVM = 0.0;
-        for (double v : execPerVm.values()) {
-            minExecVM = Math.min(minExecVM, v);
-            maxExecVM = Math.max(maxExecVM, v);
-            sumExecVM += v;
-        }
-        double avgExecPerVm = execPerVm.isEmpty() ? 0.0 : (sumExecVM / execPerVm.size());
-        double imbalance = (avgExecPerVm > 0) ? (maxExecVM - minExecVM) / avgExecPerVm : 0.0;
-
+        double totalCpuTime = acc.sumExec();
         double utilizationPct = (makespan > 0 && numVMs > 0) ? (totalCpuTime / (numVMs * makespan)) * 100.0 : 0.0;
 
-        return new double[]{ n, sumWait, avgStart, avgExec, avgFinish, throughput, totalCpuTime, makespan, imbalance, utilizationPct };
-    }
-
-    private static double mean(List<double[]> list, int idx) {
-        if (list == null || list.isEmpty()) return 0.0;
-        double s = 0.0;
-        for (double[] a : list) s += a[idx];
-        return s / list.size();
-    }
-
-    private static double stddev(List<double[]> list, int idx, double mean) {
-        if (list == null || list.size() <= 1) return 0.0;
-        double s = 0.0;
-        for (double[] a : list) {
-            double d = a[idx] - mean;
-            s += d * d;
-        }
-        return Math.sqrt(s / (list.size() - 1));
+        r[0] = n;
+        r[1] = acc.sumWait();
+        r[2] = acc.sumStart() / n;
+        r[3] = acc.sumExec() / n;
+        r[4] = acc.sumFinish() / n;
+        r[5] = (makespan > 0) ? (n / makespan) : 0.0;
+        r[6] = totalCpuTime;
+        r[7] = makespan;
+        r[8] = acc.execImbalance();
+        r[9] = utilizationPct;
+        acc.percentiles(r, BASE_COLUMNS);
+        return r;
     }
 }
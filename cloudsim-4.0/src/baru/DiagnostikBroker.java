@@ -0,0 +1,145 @@
+package baru;
+
+import org.cloudbus.cloudsim.Cloudlet;
+import org.cloudbus.cloudsim.CloudletSchedulerTimeShared;
+import org.cloudbus.cloudsim.Log;
+import org.cloudbus.cloudsim.UtilizationModel;
+import org.cloudbus.cloudsim.UtilizationModelFull;
+import org.cloudbus.cloudsim.Vm;
+import org.cloudbus.cloudsim.core.CloudSim;
+import perbandingan.CloudletMapper;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Benchmark skala pengiriman cloudlet di broker: SmartBroker (bindCloudletToVm per cloudlet +
+ * submitCloudlets bawaan) vs MappedBroker (VM dipasang sekali jalan, kirim berindeks id).
+ *
+ * Yang diukur hanya kerja di sisi broker. Simulasi tidak dijalankan, jadi sendNow tidak
+ * mengantrekan event (CloudSim belum running) dan VM "terbuat" diisi langsung.
+ *
+ * Pemakaian: java baru.DiagnostikBroker [n...]   (bawaan 10k, 20k, ..., 640k, 1M)
+ * Opsi: -Dbench.legacyLimitMs=20000, SmartBroker dilewati untuk n berikutnya setelah melewati batas ini.
+ */
+public class DiagnostikBroker {
+
+    private static final int NUM_VM = 54;
+    private static final long LEGACY_LIMIT_MS = Long.getLong("bench.legacyLimitMs", 20_000L);
+
+    public static void main(String[] args) throws Exception {
+        int[] sizes = args.length > 0
+                ? java.util.Arrays.stream(args).mapToInt(Integer::parseInt).toArray()
+                : new int[]{10_000, 20_000, 40_000, 80_000, 160_000, 320_000, 640_000, 1_000_000};
+        Log.disable();
+        CloudletMapper rr = CloudletMapper.of("rr");
+
+        System.out.println("n,smart_bind_ms,smart_submit_ms,smart_total_ms,mapped_total_ms,smart_growth,mapped_growth");
+        boolean runLegacy = true;
+        double prevSmart = Double.NaN, prevMapped = Double.NaN;
+        int prevN = 0;
+        boolean ok = true;
+        for (int n : sizes) {
+            double smartBind = Double.NaN, smartSubmit = Double.NaN;
+            if (runLegacy) {
+                CloudSim.init(1, Calendar.getInstance(), false);
+                BenchSmart smart = new BenchSmart(rr);
+                List<Vm> vms = vmList(smart.getId());
+                smart.submitVmList(vms);
+                List<Cloudlet> cloudlets = cloudlets(smart.getId(), n);
+                long t0 = System.nanoTime();
+                smart.submitCloudletList(cloudlets);
+                long t1 = System.nanoTime();
+                smart.submitAll(vms);
+                long t2 = System.nanoTime();
+                smartBind = (t1 - t0) / 1e6;
+                smartSubmit = (t2 - t1) / 1e6;
+                if (smart.getCloudletSubmittedList().size() != n) ok = false;
+                if (smartBind + smartSubmit > LEGACY_LIMIT_MS) runLegacy = false;
+            }
+
+            CloudSim.init(1, Calendar.getInstance(), false);
+            BenchMapped mapped = new BenchMapped();
+            List<Vm> vms = vmList(mapped.getId());
+            mapped.submitVmList(vms);
+            List<Cloudlet> cloudlets = cloudlets(mapped.getId(), n);
+            long[] lengths = new long[n];
+            for (int i = 0; i < n; i++) lengths[i] = cloudlets.get(i).getCloudletLength();
+            double[] vmMips = new double[vms.size()];
+            for (int j = 0; j < vmMips.length; j++) vmMips[j] = vms.get(j).getMips();
+            long t0 = System.nanoTime();
+            MappedBroker.bind(cloudlets, vms, rr.map(lengths, vmMips));
+            mapped.submitCloudletList(cloudlets);
+            mapped.submitAll(vms);
+            double mappedMs = (System.nanoTime() - t0) / 1e6;
+            if (mapped.getCloudletSubmittedList().size() != n) ok = false;
+            // pemetaan harus sama dengan round-robin SmartBroker
+            for (int i = 0; i < n; i++) {
+                if (cloudlets.get(i).getVmId() != vms.get(i % vms.size()).getId()) { ok = false; break; }
+            }
+
+            double smartTotal = smartBind + smartSubmit;
+            System.out.printf(Locale.US, "%d,%.1f,%.1f,%.1f,%.1f,%s,%s%n", n, smartBind, smartSubmit, smartTotal, mappedMs,
+                    growth(prevSmart, smartTotal, prevN, n), growth(prevMapped, mappedMs, prevN, n));
+            prevSmart = smartTotal;
+            prevMapped = mappedMs;
+            prevN = n;
+        }
+        System.out.println("(growth = rasio waktu dibagi rasio n: ~1 linear, ~rasio n kuadratik; NaN = SmartBroker dilewati)");
+        System.out.println(ok ? "OK" : "GAGAL");
+        if (!ok) System.exit(1);
+    }
+
+    private static String growth(double prev, double cur, int prevN, int n) {
+        if (prevN == 0 || Double.isNaN(prev) || Double.isNaN(cur) || prev <= 0) return "";
+        return String.format(Locale.US, "%.2f", (cur / prev) / ((double) n / prevN));
+    }
+
+    private static List<Vm> vmList(int brokerId) {
+        List<Vm> list = new ArrayList<>(NUM_VM);
+        for (int i = 0; i < NUM_VM; i++) {
+            list.add(new Vm(i, brokerId, ContohCloudsim.VM_MIPS, 1, 512, 1_000, 10_000, "Xen", new CloudletSchedulerTimeShared()));
+        }
+        return list;
+    }
+
+    private static List<Cloudlet> cloudlets(int brokerId, int n) {
+        java.util.Random rnd = new java.util.Random(42L);
+        UtilizationModel um = new UtilizationModelFull();
+        List<Cloudlet> list = new ArrayList<>(n);
+        for (int id = 0; id < n; id++) {
+            Cloudlet c = new Cloudlet(id, 1_000 + rnd.nextInt(20_000), ContohCloudsim.CLOUDLET_PES,
+                    ContohCloudsim.CLOUDLET_FILE_SIZE, ContohCloudsim.CLOUDLET_OUTPUT_SIZE, um, um, um);
+            c.setUserId(brokerId);
+            list.add(c);
+        }
+        return list;
+    }
+
+    // VM dianggap sudah terbuat di datacenter 0 lalu submitCloudlets dipanggil langsung
+    private static final class BenchSmart extends ContohCloudsim.SmartBroker {
+        BenchSmart(CloudletMapper mapper) throws Exception {
+            super("BenchSmart", mapper);
+        }
+
+        void submitAll(List<Vm> vms) {
+            getVmsCreatedList().addAll(vms);
+            for (Vm vm : vms) getVmsToDatacentersMap().put(vm.getId(), 0);
+            submitCloudlets();
+        }
+    }
+
+    private static final class BenchMapped extends MappedBroker {
+        BenchMapped() throws Exception {
+            super("BenchMapped");
+        }
+
+        void submitAll(List<Vm> vms) {
+            getVmsCreatedList().addAll(vms);
+            for (Vm vm : vms) getVmsToDatacentersMap().put(vm.getId(), 0);
+            submitCloudlets();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package baru;
+
+import org.cloudbus.cloudsim.Cloudlet;
+import org.cloudbus.cloudsim.CloudletScheduler;
+import org.cloudbus.cloudsim.CloudletSchedulerTimeShared;
+import org.cloudbus.cloudsim.Log;
+import org.cloudbus.cloudsim.UtilizationModel;
+import org.cloudbus.cloudsim.UtilizationModelFull;
+import org.cloudbus.cloudsim.Vm;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.CloudSimTags;
+import perbandingan.CloudletMapper;
+import perbandingan.CloudletSchedulerTimeSharedPq;
+import perbandingan.DatasetCache;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Validasi CloudletSchedulerTimeSharedPq terhadap CloudletSchedulerTimeShared bawaan: simulasi
+ * ContohCloudsim (6 DC, 54 VM, round-robin) dijalankan dengan tiap scheduler, lalu waktu mulai
+ * dan selesai tiap cloudlet dibandingkan.
+ *
+ * Skenario: "batch" = semua cloudlet dikirim di t=0 (seperti ContohCloudsim); "bertahap" =
+ * cloudlet datang acak dalam 0..3600 s dan tiap cloudlet ke-5 ber-PE 2.
+ *
+ * Pemakaian: java baru.DiagnostikScheduler [dataset...]   (bawaan RandSimple1000, RandStratified10000)
+ */
+public class DiagnostikScheduler {
+
+    private static final String[] DEFAULT_DATASETS = {
+            "datasets/randomSimple/RandSimple1000.txt",
+            "datasets/randomStratified/RandStratified10000.txt"
+    };
+    private static final double TOLERANCE = 1e-9; // relatif terhadap waktu simulasi
+
+    public static void main(String[] args) throws Exception {
+        String[] datasets = args.length > 0 ? args : DEFAULT_DATASETS;
+        Log.disable();
+
+        boolean ok = true;
+        System.out.println("dataset,skenario,n,bawaan_ms,pq_ms,speedup,maks_selisih_mulai,maks_selisih_selesai,makespan");
+        for (String path : datasets) {
+            long[] lengths = DatasetCache.load(path);
+            for (boolean staggered : new boolean[]{false, true}) {
+                long t0 = System.nanoTime();
+                List<Cloudlet> legacy = simulate(lengths, staggered, CloudletSchedulerTimeShared::new);
+                double legacyMs = (System.nanoTime() - t0) / 1e6;
+                t0 = System.nanoTime();
+                List<Cloudlet> pq = simulate(lengths, staggered, CloudletSchedulerTimeSharedPq::new);
+                double pqMs = (System.nanoTime() - t0) / 1e6;
+
+                double maxStart = 0, maxFinish = 0, makespan = 0;
+                boolean same = legacy.size() == lengths.length && pq.size() == lengths.length;
+                for (int i = 0; same && i < lengths.length; i++) {
+                    Cloudlet a = legacy.get(i), b = pq.get(i);
+                    if (a.getCloudletId() != b.getCloudletId() || a.getStatus() != b.getStatus()) same = false;
+                    maxStart = Math.max(maxStart, Math.abs(a.getExecStartTime() - b.getExecStartTime()));
+                    maxFinish = Math.max(maxFinish, Math.abs(a.getFinishTime() - b.getFinishTime()));
+                    makespan = Math.max(makespan, a.getFinishTime());
+                }
+                if (maxStart > TOLERANCE * Math.max(1.0, makespan) || maxFinish > TOLERANCE * Math.max(1.0, makespan)) same = false;
+                System.out.printf(Locale.US, "%s,%s,%d,%.1f,%.1f,%.1fx,%.3e,%.3e,%.4f%s%n",
+                        path, staggered ? "bertahap" : "batch", lengths.length, legacyMs, pqMs, legacyMs / pqMs,
+                        maxStart, maxFinish, makespan, same ? "" : ",BERBEDA");
+                if (!same) ok = false;
+            }
+        }
+        System.out.println(ok ? "OK" : "GAGAL");
+        if (!ok) System.exit(1);
+    }
+
+    // cloudlet yang kembali, diurutkan menurut id
+    private static List<Cloudlet> simulate(long[] lengths, boolean staggered, Supplier<CloudletScheduler> scheduler) throws Exception {
+        CloudSim.init(1, Calendar.getInstance(), false);
+        for (int dc = 0; dc < ContohCloudsim.NUM_DATACENTERS; dc++) {
+            ContohCloudsim.createDatacenter("DC_" + dc, ContohCloudsim.HOSTS_PER_DC);
+        }
+        Random rnd = new Random(7L);
+        double[] arrival = new double[lengths.length];
+        if (staggered) for (int i = 0; i < arrival.length; i++) arrival[i] = rnd.nextDouble() * 3600.0;
+        StaggeredBroker broker = new StaggeredBroker(arrival);
+
+        int totalVM = ContohCloudsim.NUM_DATACENTERS * ContohCloudsim.HOSTS_PER_DC * ContohCloudsim.VMS_PER_HOST;
+        List<Vm> vmList = ContohCloudsim.createVmList(broker.getId(), totalVM, scheduler);
+        broker.submitVmList(vmList);
+
+        UtilizationModel um = new UtilizationModelFull();
+        List<Cloudlet> cloudlets = new ArrayList<>(lengths.length);
+        for (int id = 0; id < lengths.length; id++) {
+            int pes = (staggered && id % 5 == 4) ? 2 : ContohCloudsim.CLOUDLET_PES;
+            Cloudlet c = new Cloudlet(id, lengths[id], pes,
+                    ContohCloudsim.CLOUDLET_FILE_SIZE, ContohCloudsim.CLOUDLET_OUTPUT_SIZE, um, um, um);
+            c.setUserId(broker.getId());
+            cloudlets.add(c);
+        }
+        double[] vmMips = new double[vmList.size()];
+        for (int j = 0; j < vmMips.length; j++) vmMips[j] = vmList.get(j).getMips();
+        MappedBroker.bind(cloudlets, vmList, CloudletMapper.of("rr").map(lengths, vmMips));
+        broker.submitCloudletList(cloudlets);
+
+        CloudSim.startSimulation();
+        CloudSim.stopSimulation();
+
+        List<Cloudlet> received = new ArrayList<>(broker.getCloudletReceivedList());
+        received.sort((a, b) -> Integer.compare(a.getCloudletId(), b.getCloudletId()));
+        return received;
+    }
+
+    // cloudlet ke-i dikirim ke datacenter-nya arrival[i] detik setelah semua VM terbuat
+    private static final class StaggeredBroker extends MappedBroker {
+        private final double[] arrival;
+
+        StaggeredBroker(double[] arrival) throws Exception {
+            super("Broker_Scheduler");
+            this.arrival = arrival;
+        }
+
+        @Override
+        protected void submitCloudlets() {
+            for (Cloudlet c : getCloudletList()) {
+                send(getVmsToDatacentersMap().get(c.getVmId()), arrival[c.getCloudletId()], CloudSimTags.CLOUDLET_SUBMIT, c);
+                cloudletsSubmitted++;
+                getCloudletSubmittedList().add(c);
+            }
+            getCloudletList().clear();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package baru;
+
+import org.cloudbus.cloudsim.Cloudlet;
+import org.cloudbus.cloudsim.DatacenterBroker;
+import org.cloudbus.cloudsim.Log;
+import org.cloudbus.cloudsim.Vm;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.CloudSimTags;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Broker untuk pemetaan yang sudah dihitung di luar (round-robin atau mapper lain).
+ *
+ * Di DatacenterBroker bawaan, tiap bindCloudletToVm mencari cloudlet secara linear di daftar,
+ * dan submitCloudlets diakhiri {@code cloudletList.removeAll(...)} yang juga linear per elemen,
+ * jadi mengirim n cloudlet O(n^2). Di sini VM sudah diisi lewat {@link Cloudlet#setVmId} saat
+ * cloudlet dibuat ({@link #bind}), dan pengiriman memakai tabel VM -> datacenter berindeks id,
+ * sehingga total O(n + jumlah VM).
+ *
+ * Cloudlet tanpa VM (-1) tetap dibagi round-robin ke VM yang berhasil dibuat, dan cloudlet yang
+ * VM-nya gagal dibuat tetap di daftar tunggu, sama seperti DatacenterBroker.
+ */
+public class MappedBroker extends DatacenterBroker {
+
+    public MappedBroker(String name) throws Exception {
+        super(name);
+    }
+
+    /**
+     * Pasang VM untuk tiap cloudlet dalam satu lintasan: cloudlet ke-i ke {@code vmList.get(mapping[i])}.
+     */
+    public static void bind(List<? extends Cloudlet> cloudlets, List<? extends Vm> vmList, int[] mapping) {
+        int[] vmIds = new int[vmList.size()];
+        for (int j = 0; j < vmIds.length; j++) vmIds[j] = vmList.get(j).getId();
+        int i = 0;
+        for (Cloudlet c : cloudlets) c.setVmId(vmIds[mapping[i++]]);
+    }
+
+    @Override
+    protected void submitCloudlets() {
+        List<Vm> created = getVmsCreatedList();
+        int maxId = -1;
+        for (Vm vm : created) maxId = Math.max(maxId, vm.getId());
+        int[] dcOf = new int[maxId + 1];
+        java.util.Arrays.fill(dcOf, -1);
+        for (Vm vm : created) dcOf[vm.getId()] = getVmsToDatacentersMap().get(vm.getId());
+
+        List<Cloudlet> waiting = getCloudletList();
+        List<Cloudlet> postponed = new ArrayList<>();
+        List<Cloudlet> submitted = getCloudletSubmittedList();
+        int vmIndex = 0;
+        for (Cloudlet c : waiting) {
+            int vmId = c.getVmId();
+            if (vmId == -1) {
+                vmId = created.get(vmIndex).getId();
+                c.setVmId(vmId);
+            } else if (vmId > maxId || dcOf[vmId] < 0) {
+                postponed.add(c); // VM terikat belum/gagal dibuat
+                continue;
+            }
+            sendNow(dcOf[vmId], CloudSimTags.CLOUDLET_SUBMIT, c);
+            cloudletsSubmitted++;
+            vmIndex = (vmIndex + 1) % created.size();
+            submitted.add(c);
+        }
+        if (!Log.isDisabled()) {
+            Log.printConcatLine(CloudSim.clock(), ": ", getName(), ": Sending ", waiting.size() - postponed.size(),
+                    " cloudlets, postponing ", postponed.size());
+        }
+        waiting.clear();
+        waiting.addAll(postponed);
+    }
+}
@@ -0,0 +1,160 @@
+package baru;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Pembaca workload streaming: satu job dibaca per panggilan, memori konstan berapa pun panjang trace.
+ *
+ * Dua format dikenali per baris:
+ * <ul>
+ *   <li>Standard Workload Format (SWF, 18 kolom dipisah spasi, komentar diawali ';'):
+ *       kolom 2 = submit time (s), kolom 4 = run time (s), kolom 5 = prosesor teralokasi
+ *       (jika -1 dipakai kolom 8, prosesor diminta). Panjang cloudlet = run time x prosesor x
+ *       {@code referenceMips}, karena VM simulasi ber-PE tunggal. Job dengan run time tidak
+ *       diketahui (-1) atau 0 dilewati.</li>
+ *   <li>Satu kolom (format dataset repo): nilai = panjang cloudlet dalam MI, submit time 0.
+ *       Nilai pecahan seperti 0.96 tidak dibuang seperti loader lama, tetapi dibulatkan ke atas
+ *       (minimal 1 MI). Nilai &lt;= 0 dilewati.</li>
+ * </ul>
+ */
+public final class SwfWorkload implements Iterator<SwfWorkload.Job>, AutoCloseable {
+
+    /** Satu job trace yang sudah dikonversi ke panjang cloudlet. */
+    public static final class Job {
+        public final int id;
+        public final double submitTime;
+        public final double runtime;
+        public final int processors;
+        public final long length;
+
+        Job(int id, double submitTime, double runtime, int processors, long length) {
+            this.id = id;
+            this.submitTime = submitTime;
+            this.runtime = runtime;
+            this.processors = processors;
+            this.length = length;
+        }
+    }
+
+    private final String path;
+    private final BufferedReader reader;
+    private final double referenceMips;
+
+    private Job next;
+    private int nextId;
+    private long lines;
+    private long swfJobs;
+    private long columnJobs;
+    private long skipped;
+
+    private SwfWorkload(String path, BufferedReader reader, double referenceMips) {
+        this.path = path;
+        this.reader = reader;
+        this.referenceMips = referenceMips;
+    }
+
+    /**
+     * @param referenceMips MIPS satu PE acuan untuk mengubah run time SWF (detik) menjadi MI
+     */
+    public static SwfWorkload open(String path, double referenceMips) throws IOException {
+        return new SwfWorkload(path, new BufferedReader(new FileReader(path)), referenceMips);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) next = readJob();
+        return next != null;
+    }
+
+    /** Job berikutnya tanpa mengonsumsinya (untuk menjadwalkan kedatangan). */
+    public Job peek() {
+        if (!hasNext()) throw new NoSuchElementException();
+        return next;
+    }
+
+    @Override
+    public Job next() {
+        Job j = peek();
+        next = null;
+        return j;
+    }
+
+    private Job readJob() {
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines++;
+                int comment = line.indexOf(';');
+                if (comment >= 0) line = line.substring(0, comment);
+                line = line.trim();
+                if (line.isEmpty()) continue;
+
+                String[] f = line.split("\\s+");
+                Job j = (f.length >= 5) ? parseSwf(f) : (f.length == 1) ? parseColumn(f[0]) : null;
+                if (j == null) skipped++;
+                else return j;
+            }
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Gagal membaca " + path, e);
+        }
+    }
+
+    private Job parseSwf(String[] f) {
+        try {
+            double submit = Double.parseDouble(f[1]);
+            double runtime = Double.parseDouble(f[3]);
+            int procs = (int) Double.parseDouble(f[4]);
+            if (procs <= 0 && f.length >= 8) procs = (int) Double.parseDouble(f[7]);
+            if (runtime <= 0 || submit < 0) return null;
+            procs = Math.max(1, procs);
+            swfJobs++;
+            return new Job(nextId++, submit, runtime, procs, toLength(runtime * procs * referenceMips));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private Job parseColumn(String s) {
+        try {
+            double v = Double.parseDouble(s);
+            if (!(v > 0) || Double.isInfinite(v)) return null;
+            columnJobs++;
+            long length = toLength(v);
+            return new Job(nextId++, 0.0, length / referenceMips, 1, length);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static long toLength(double mi) {
+        return Math.max(1L, (long) Math.ceil(mi));
+    }
+
+    public long lines() {
+        return lines;
+    }
+
+    public long swfJobs() {
+        return swfJobs;
+    }
+
+    public long columnJobs() {
+        return columnJobs;
+    }
+
+    /** Baris berisi data yang tidak bisa dipakai (run time tidak diketahui, rusak, dst.). */
+    public long skipped() {
+        return skipped;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,81 @@
+package baru;
+
+import org.cloudbus.cloudsim.Vm;
+import org.cloudbus.cloudsim.core.CloudSim;
+import perbandingan.MetricsAccumulator;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.PrintWriter;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Simulasi trace penuh dengan kedatangan sesuai submit time (SWF) memakai infrastruktur
+ * ContohCloudsim (6 DC x 3 host x 3 VM).
+ *
+ * Pemakaian: java baru.TraceCloudsim [trace...]   (bawaan datasets/SDSC/SDSC7395.txt)
+ * Opsi: -Dswf.dispatch=rr|least, -Dswf.referenceMips=1000 (MIPS acuan run time SWF).
+ * Hasil: out/trace_<file>_<dispatch>.csv, satu baris per trace.
+ */
+public class TraceCloudsim {
+
+    private static final String DEFAULT_TRACE = "datasets/SDSC/SDSC7395.txt";
+    private static final String DISPATCH = System.getProperty("swf.dispatch", "rr");
+    private static final double REFERENCE_MIPS =
+            Double.parseDouble(System.getProperty("swf.referenceMips", String.valueOf(ContohCloudsim.VM_MIPS)));
+
+    public static void main(String[] args) {
+        String[] traces = args.length > 0 ? args : new String[]{DEFAULT_TRACE};
+        try {
+            ContohCloudsim.ensureDir(ContohCloudsim.OUT_DIR);
+            for (String trace : traces) runTrace(trace);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static void runTrace(String trace) throws Exception {
+        String name = new File(trace).getName();
+        File outFile = new File(ContohCloudsim.OUT_DIR, "trace_" + name.replaceAll("\\.[^.]*$", "") + "_" + DISPATCH + ".csv");
+
+        long t0 = System.nanoTime();
+        double[] m;
+        try (SwfWorkload workload = SwfWorkload.open(trace, REFERENCE_MIPS)) {
+            CloudSim.init(1, Calendar.getInstance(), false);
+            for (int dc = 0; dc < ContohCloudsim.NUM_DATACENTERS; dc++) {
+                ContohCloudsim.createDatacenter("DC_" + dc, ContohCloudsim.HOSTS_PER_DC);
+            }
+
+            ArrivalBroker broker = new ArrivalBroker("TraceBroker", workload, DISPATCH);
+            int totalVM = ContohCloudsim.NUM_DATACENTERS * ContohCloudsim.HOSTS_PER_DC * ContohCloudsim.VMS_PER_HOST;
+            List<Vm> vmList = ContohCloudsim.createVmList(broker.getId(), totalVM);
+            broker.submitVmList(vmList);
+
+            CloudSim.startSimulation();
+            CloudSim.stopSimulation();
+
+            m = broker.metrics().toArray();
+            System.out.printf(Locale.US,
+                    "Trace %s: %d baris, %d job SWF, %d job satu kolom, %d dilewati, dispatch=%s, %.1f s wall%n",
+                    name, workload.lines(), workload.swfJobs(), workload.columnJobs(), workload.skipped(),
+                    DISPATCH, (System.nanoTime() - t0) / 1e9);
+        }
+
+        System.out.printf(Locale.US,
+                "Cloudlet=%.0f, Makespan=%.4f, Thpt=%.6f, AvgWait=%.4f, AvgExec=%.4f, Imbalance=%.6f, Util=%.4f%%%n",
+                m[0], m[7], m[5], m[0] > 0 ? m[1] / m[0] : 0.0, m[3], m[8], m[9]);
+        System.out.println(MetricsAccumulator.formatPercentiles(m, 10));
+
+        try (PrintWriter pw = new PrintWriter(new FileWriter(outFile, false))) {
+            pw.println("DatasetFile,Dispatch,TotalCloudlet,TotalCPUTime(s),TotalWaitTime(s),AvgStartTime(s),AvgExecTime(s),AvgFinishTime(s),Throughput(c/s),Makespan(s),ImbalanceDegree,ResourceUtilization(%),"
+                    + String.join(",", MetricsAccumulator.PERCENTILE_COLUMNS));
+            pw.printf(Locale.US, "%s,%s,%.0f,%.4f,%.4f,%.4f,%.4f,%.4f,%.6f,%.4f,%.6f,%.4f",
+                    name, DISPATCH, m[0], m[6], m[1], m[2], m[3], m[4], m[5], m[7], m[8], m[9]);
+            for (int i = 10; i < m.length; i++) pw.printf(Locale.US, ",%.4f", m[i]);
+            pw.println();
+        }
+        System.out.println("CSV: " + outFile.getPath());
+    }
+}
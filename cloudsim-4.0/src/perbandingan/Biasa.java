@@ -4,11 +4,7 @@ import org.cloudbus.cloudsim.*;
 import org.cloudbus.cloudsim.core.CloudSim;
 import org.cloudbus.cloudsim.provisioners.*;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.io.PrintWriter;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -40,14 +36,24 @@ public class Biasa {
     private static final String OUTPUT_DIR = "hasil";
     private static final String CSV_HEADER =
             "Dataset,Trial,TotalCPUTime,TotalWaitTime,AverageStartTime,AverageExecTime,AverageFinishTime,Throughput,Makespan,ImbalanceDegree,ResourceUtilization,TotalEnergyConsumption";
+    private static final int BASE_COLUMNS = 10; // kolom nilai CSV_HEADER; persentil menyusul di jsonl/bin
 
     private static final boolean VARIASI_VM_MIPS = true;
 
+    // Pemetaan cloudlet -> VM (-Dmapper=rr|lpt|minmin|maxmin), bawaan round-robin
+    private static final CloudletMapper MAPPER = CloudletMapper.of(System.getProperty("mapper", "rr"));
+
     public static void main(String[] args) {
-        System.out.println("CloudSim Simulation - TimeShared Scheduler");
+        System.out.println("CloudSim Simulation - TimeShared Scheduler (mapper: " + MAPPER.name() + ")");
         System.out.println("Contoh path: datasets/randomSimple/RandSimple3000.txt");
 
         try (Scanner sc = new Scanner(System.in)) {
+            if (args.length > 0) {
+                // tanpa prompt, untuk sweep panjang dari skrip: <dataset> [label]
+                sweep(args[0], args.length > 1 ? args[1] : deriveDefaultLabel(args[0]));
+                return;
+            }
+
             System.out.print("Masukkan path file dataset: ");
             String datasetPath = sc.nextLine().trim();
             if (datasetPath.isEmpty()) {
@@ -61,51 +67,92 @@ public class Biasa {
                 datasetLabel = deriveDefaultLabel(datasetPath);
             }
 
-            final int TRIALS = 10;
-
-            ensureOutputDir();
-            String csvPath = OUTPUT_DIR + "/" + getFolderTag(datasetPath) + "_" + safeCsvName(datasetLabel) + ".csv";
-            initCsv(csvPath);
+            sweep(datasetPath, datasetLabel);
 
-            List<double[]> allTrials = new ArrayList<>();
-            for (int t = 1; t <= TRIALS; t++) {
-                Metrics m = runSingleSimulation(datasetPath, t);
-                allTrials.add(m.toArray());
+        } catch (Exception e) {
+            System.out.println("Terjadi kesalahan:");
+            e.printStackTrace();
+        }
+    }
 
-                System.out.printf(Locale.US,
-                        "Percobaan %d | TotalCPU=%.2f, TotalWait=%.2f, AvgStart=%.2f, AvgExec=%.2f, AvgFinish=%.2f, Thpt=%.4f, Makespan=%.2f, Imbalance=%.4f, Util=%.4f, Energy=%.2f%n",
-                        t, m.totalCpuTime, m.totalWaitTime, m.avgStartTime, m.avgExecTime, m.avgFinishTime,
-                        m.throughput, m.makespan, m.imbalanceDegree, m.resourceUtilization, m.totalEnergy);
+    /** 10 percobaan satu dataset, ditulis ke CSV; dipakai main dan FarmCoordinator. */
+    static void sweep(String datasetPath, String datasetLabel) throws Exception {
+        final int TRIALS = 10;
+
+        ensureOutputDir();
+        String mapperTag = "rr".equals(MAPPER.name()) ? "" : "_" + MAPPER.name().toUpperCase(Locale.ROOT);
+        String csvName = getFolderTag(datasetPath) + "_" + safeCsvName(datasetLabel) + mapperTag
+                + (PhaseTimer.COLUMNS ? "_timed" : "");
+        String csvPath = ResultSink.path(OUTPUT_DIR + "/" + csvName);
+
+        List<Object[]> runs = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+        for (int t = 1; t <= TRIALS; t++) {
+            runs.add(new Object[]{datasetPath, t});
+            keys.add("trial-" + t);
+        }
 
-                appendCsv(csvPath, String.format(Locale.US,
-                        "%s,%d,%.4f,%.4f,%.4f,%.4f,%.4f,%.6f,%.4f,%.6f,%.6f,%.4f",
-                        datasetLabel, t, m.totalCpuTime, m.totalWaitTime, m.avgStartTime, m.avgExecTime,
-                        m.avgFinishTime, m.throughput, m.makespan, m.imbalanceDegree, m.resourceUtilization, m.totalEnergy));
-            }
+        // percobaan selesai dicatat segera; -Dsweep.resume=true melanjutkan sweep yang terputus
+        String fingerprint = ResultCache.key(datasetPath, "biasa", datasetLabel,
+                SweepCheckpoint.properties("mapper", "vm.", "result.format", "trial.timing"));
+        MetricsAccumulator.Trials trials = new MetricsAccumulator.Trials(BASE_COLUMNS + MetricsAccumulator.PERCENTILES);
+        try (SweepCheckpoint checkpoint = SweepCheckpoint.open(OUTPUT_DIR + "/checkpoint/" + csvName + ".ckpt",
+                     fingerprint, fileSize(csvPath))) {
+            checkpoint.rewind(csvPath);
+            try (ResultSink sink = ResultSink.open(OUTPUT_DIR + "/" + csvName, PhaseTimer.csvHeader(CSV_HEADER),
+                         PhaseTimer.withColumns(MetricsAccumulator.withPercentiles(ResultSink.valueColumns(CSV_HEADER))));
+                 SweepExecutor sweep = new SweepExecutor(Biasa.class.getName(), "runTrial")) {
+                sweep.run(runs, keys, checkpoint, (i, row) -> {
+                    int t = i + 1;
+                    Metrics m = Metrics.of(row);
+                    trials.add(row);
+
+                    System.out.printf(Locale.US,
+                            "Percobaan %d | TotalCPU=%.2f, TotalWait=%.2f, AvgStart=%.2f, AvgExec=%.2f, AvgFinish=%.2f, Thpt=%.4f, Makespan=%.2f, Imbalance=%.4f, Util=%.4f, Energy=%.2f%n",
+                            t, m.totalCpuTime, m.totalWaitTime, m.avgStartTime, m.avgExecTime, m.avgFinishTime,
+                            m.throughput, m.makespan, m.imbalanceDegree, m.resourceUtilization, m.totalEnergy);
+                    System.out.println("            " + MetricsAccumulator.formatPercentiles(m.percentiles, 0));
+
+                    sink.append(datasetLabel, t, row, String.format(Locale.US,
+                            "%s,%d,%.4f,%.4f,%.4f,%.4f,%.4f,%.6f,%.4f,%.6f,%.6f,%.4f",
+                            datasetLabel, t, m.totalCpuTime, m.totalWaitTime, m.avgStartTime, m.avgExecTime,
+                            m.avgFinishTime, m.throughput, m.makespan, m.imbalanceDegree, m.resourceUtilization, m.totalEnergy)
+                            + PhaseTimer.csvValues(row, BASE_COLUMNS + MetricsAccumulator.PERCENTILES));
+                });
+            } // sink ditutup (baris sudah di disk) sebelum checkpoint dibuang
+            checkpoint.complete();
+        }
 
-            Metrics avg = Metrics.average(allTrials);
-            System.out.println("\nRata-rata dari 10 percobaan:");
-            System.out.printf(Locale.US,
-                    "TotalCPU=%.2f, TotalWait=%.2f, AvgStart=%.2f, AvgExec=%.2f, AvgFinish=%.2f, Thpt=%.4f, Makespan=%.2f, Imbalance=%.4f, Util=%.4f, Energy=%.2f%n",
-                    avg.totalCpuTime, avg.totalWaitTime, avg.avgStartTime, avg.avgExecTime, avg.avgFinishTime,
-                    avg.throughput, avg.makespan, avg.imbalanceDegree, avg.resourceUtilization, avg.totalEnergy);
+        Metrics avg = Metrics.of(trials.means());
+        System.out.println("\nRata-rata dari 10 percobaan:");
+        System.out.printf(Locale.US,
+                "TotalCPU=%.2f, TotalWait=%.2f, AvgStart=%.2f, AvgExec=%.2f, AvgFinish=%.2f, Thpt=%.4f, Makespan=%.2f, Imbalance=%.4f, Util=%.4f, Energy=%.2f%n",
+                avg.totalCpuTime, avg.totalWaitTime, avg.avgStartTime, avg.avgExecTime, avg.avgFinishTime,
+                avg.throughput, avg.makespan, avg.imbalanceDegree, avg.resourceUtilization, avg.totalEnergy);
+        System.out.printf(Locale.US, "Std Makespan=%.2f, %s%n",
+                trials.stddev(6), MetricsAccumulator.formatPercentiles(avg.percentiles, 0));
 
-            System.out.println("CSV hasil disimpan di: " + csvPath);
+        System.out.println("CSV hasil disimpan di: " + csvPath);
+    }
 
-        } catch (Exception e) {
-            System.out.println("Terjadi kesalahan:");
-            e.printStackTrace();
-        }
+    // titik masuk SweepExecutor: hanya tipe JDK yang melintasi classloader
+    private static double[] runTrial(String datasetPath, int trial) throws Exception {
+        PhaseTimer timer = new PhaseTimer(datasetPath, trial);
+        return timer.appendTo(runSingleSimulation(datasetPath, trial, timer).toArray());
     }
 
-    private static Metrics runSingleSimulation(String datasetPath, int trial) throws Exception {
+    // timer.start menandai awal tiap fase (event JFR soka.TrialPhase / kolom -Dtrial.timing)
+    private static Metrics runSingleSimulation(String datasetPath, int trial, PhaseTimer timer) throws Exception {
+        timer.start(PhaseTimer.Phase.LOAD);
         long[] dataset = loadDataset(datasetPath);
         shuffleArray(dataset, new Random(12345L + trial));
 
+        timer.start(PhaseTimer.Phase.INIT);
         CloudSim.init(1, Calendar.getInstance(), false);
         DatacenterBroker broker = new DatacenterBroker("Broker");
         int brokerId = broker.getId();
 
+        timer.start(PhaseTimer.Phase.INFRA);
         List<Datacenter> dcs = new ArrayList<>();
         for (int i = 0; i < NUM_DATACENTERS; i++) {
             dcs.add(createDatacenter("DC_" + i).datacenter);
@@ -116,13 +163,15 @@ public class Biasa {
         List<Vm> vmList = createVmList(brokerId, totalVm, vmRnd);
         broker.submitVmList(vmList);
 
-        List<Cloudlet> cloudlets = createCloudletsFromDataset(brokerId, vmList, dataset);
+        List<Cloudlet> cloudlets = createCloudletsFromDataset(brokerId, vmList, dataset, timer);
         broker.submitCloudletList(cloudlets);
 
+        timer.start(PhaseTimer.Phase.SIMULATION);
         CloudSim.startSimulation();
         List<Cloudlet> finished = broker.getCloudletReceivedList();
         CloudSim.stopSimulation();
 
+        timer.start(PhaseTimer.Phase.METRICS);
         return computeMetrics(finished, vmList, dataset.length);
     }
 
@@ -135,22 +184,9 @@ public class Biasa {
         }
     }
 
+    // Parse teks sekali, selanjutnya dari sidecar biner / cache memori (lihat DatasetCache)
     private static long[] loadDataset(String filePath) throws IOException {
-        List<Long> vals = new ArrayList<>();
-        try (BufferedReader br = new BufferedReader(new FileReader(filePath))) {
-            String s;
-            while ((s = br.readLine()) != null) {
-                s = s.trim();
-                if (s.isEmpty()) continue;
-                try {
-                    vals.add(Long.parseLong(s));
-                } catch (NumberFormatException ignored) {
-                }
-            }
-        }
-        long[] arr = new long[vals.size()];
-        for (int i = 0; i < vals.size(); i++) arr[i] = vals.get(i);
-        return arr;
+        return DatasetCache.load(filePath);
     }
 
     private static class DatacenterInfo {
@@ -206,20 +242,26 @@ public class Biasa {
             Vm vm = new Vm(
                     i, brokerId, mips, VM_PES,
                     VM_RAM_MB, VM_BW, VM_STORAGE_MB, "Xen",
-                    new CloudletSchedulerTimeShared()
+                    CloudletSchedulerTimeSharedPq.create()
             );
             list.add(vm);
         }
         return list;
     }
 
-    private static List<Cloudlet> createCloudletsFromDataset(int brokerId, List<Vm> vmList, long[] lengths) {
+    private static List<Cloudlet> createCloudletsFromDataset(int brokerId, List<Vm> vmList, long[] lengths, PhaseTimer timer) {
+        timer.start(PhaseTimer.Phase.SCHEDULE);
+        double[] vmMips = new double[vmList.size()];
+        for (int j = 0; j < vmMips.length; j++) vmMips[j] = vmList.get(j).getMips();
+        int[] mapping = MAPPER.map(lengths, vmMips);
+
+        timer.start(PhaseTimer.Phase.CLOUDLETS);
         List<Cloudlet> list = new ArrayList<>(lengths.length);
         UtilizationModel util = new UtilizationModelFull();
         for (int i = 0; i < lengths.length; i++) {
             Cloudlet cl = new Cloudlet(i, lengths[i], CLOUDLET_PES, CLOUDLET_FILE_SIZE, CLOUDLET_OUTPUT_SIZE, util, util, util);
             cl.setUserId(brokerId);
-            cl.setVmId(vmList.get(i % vmList.size()).getId());
+            cl.setVmId(vmList.get(mapping[i]).getId());
             list.add(cl);
         }
         return list;
@@ -236,40 +278,32 @@ public class Biasa {
         double imbalanceDegree;
         double resourceUtilization;
         double totalEnergy;
+        // urutan MetricsAccumulator.PERCENTILE_COLUMNS; tidak masuk CSV, hanya jsonl/bin dan konsol
+        final double[] percentiles = new double[MetricsAccumulator.PERCENTILES];
 
         double[] toArray() {
-            return new double[]{
+            double[] r = Arrays.copyOf(new double[]{
                     totalCpuTime, totalWaitTime, avgStartTime, avgExecTime,
                     avgFinishTime, throughput, makespan, imbalanceDegree,
                     resourceUtilization, totalEnergy
-            };
+            }, BASE_COLUMNS + MetricsAccumulator.PERCENTILES);
+            System.arraycopy(percentiles, 0, r, BASE_COLUMNS, percentiles.length);
+            return r;
         }
 
-        static Metrics average(List<double[]> rows) {
+        static Metrics of(double[] r) {
             Metrics m = new Metrics();
-            int n = rows.size();
-            for (double[] r : rows) {
-                m.totalCpuTime += r[0];
-                m.totalWaitTime += r[1];
-                m.avgStartTime += r[2];
-                m.avgExecTime += r[3];
-                m.avgFinishTime += r[4];
-                m.throughput += r[5];
-                m.makespan += r[6];
-                m.imbalanceDegree += r[7];
-                m.resourceUtilization += r[8];
-                m.totalEnergy += r[9];
-            }
-            m.totalCpuTime /= n;
-            m.totalWaitTime /= n;
-            m.avgStartTime /= n;
-            m.avgExecTime /= n;
-            m.avgFinishTime /= n;
-            m.throughput /= n;
-            m.makespan /= n;
-            m.imbalanceDegree /= n;
-            m.resourceUtilization /= n;
-            m.totalEnergy /= n;
+            m.totalCpuTime = r[0];
+            m.totalWaitTime = r[1];
+            m.avgStartTime = r[2];
+            m.avgExecTime = r[3];
+            m.avgFinishTime = r[4];
+            m.throughput = r[5];
+            m.makespan = r[6];
+            m.imbalanceDegree = r[7];
+            m.resourceUtilization = r[8];
+            m.totalEnergy = r[9];
+            System.arraycopy(r, BASE_COLUMNS, m.percentiles, 0, m.percentiles.length);
             return m;
         }
     }
@@ -278,59 +312,34 @@ public class Biasa {
         Metrics m = new Metrics();
         if (finished == null || finished.isEmpty()) return m;
 
-        double sumStart = 0, sumExec = 0, sumFinish = 0;
-        double minStart = Double.POSITIVE_INFINITY, maxFinish = 0;
-        double totalCpu = 0, totalWait = 0;
+        // satu lintasan; VM tanpa cloudlet tetap dihitung (beban 0) dalam imbalance
+        MetricsAccumulator acc = new MetricsAccumulator(vmList.size());
+        for (Vm vm : vmList) acc.registerVm(vm.getId());
+        for (Cloudlet c : finished) acc.add(c);
 
-        Map<Integer, Double> workPerVm = new HashMap<>();
-        for (Vm vm : vmList) workPerVm.put(vm.getId(), 0.0);
-
-        for (Cloudlet c : finished) {
-            double start = c.getExecStartTime();
-            double finish = c.getFinishTime();
-            double cpu = c.getActualCPUTime();
-            double wait = c.getWaitingTime();
-
-            sumStart += start;
-            sumExec += cpu;
-            sumFinish += finish;
-            if (start < minStart) minStart = start;
-            if (finish > maxFinish) maxFinish = finish;
-
-            totalCpu += cpu;
-            totalWait += wait;
-
-            workPerVm.put(c.getVmId(), workPerVm.getOrDefault(c.getVmId(), 0.0) + c.getCloudletLength());
-        }
-
-        int n = finished.size();
-        m.totalCpuTime = totalCpu;
-        m.totalWaitTime = totalWait;
-        m.avgStartTime = sumStart / n;
-        m.avgExecTime = sumExec / n;
-        m.avgFinishTime = sumFinish / n;
+        long n = acc.count();
+        double maxFinish = Math.max(0, acc.maxFinish());
+        m.totalCpuTime = acc.sumExec();
+        m.totalWaitTime = acc.sumWait();
+        m.avgStartTime = acc.sumStart() / n;
+        m.avgExecTime = acc.sumExec() / n;
+        m.avgFinishTime = acc.sumFinish() / n;
 
         m.makespan = maxFinish;
-        double busyWindow = Math.max(1e-9, maxFinish - Math.max(0, minStart));
+        double busyWindow = Math.max(1e-9, maxFinish - Math.max(0, acc.minStart()));
         m.throughput = n / busyWindow;
 
-        double maxLoad = 0, minLoad = Double.POSITIVE_INFINITY;
-        for (double mi : workPerVm.values()) {
-            maxLoad = Math.max(maxLoad, mi);
-            minLoad = Math.min(minLoad, mi);
-        }
-        m.imbalanceDegree = (maxLoad == 0) ? 0 : (maxLoad - minLoad) / maxLoad;
+        m.imbalanceDegree = acc.workImbalance();
 
         double totalVmCapacityPerSec = 0;
         for (Vm vm : vmList) totalVmCapacityPerSec += vm.getMips();
         double capacityOverWindow = totalVmCapacityPerSec * busyWindow;
-        double totalMiExecuted = 0;
-        for (Cloudlet c : finished) totalMiExecuted += c.getCloudletLength();
-        m.resourceUtilization = (capacityOverWindow == 0) ? 0 : (totalMiExecuted / capacityOverWindow);
+        m.resourceUtilization = (capacityOverWindow == 0) ? 0 : (acc.sumLength() / capacityOverWindow);
 
         int activeHosts = NUM_DATACENTERS * HOSTS_PER_DC;
         m.totalEnergy = activeHosts * HOST_POWER * m.makespan;
 
+        acc.percentiles(m.percentiles, 0);
         return m;
     }
 
@@ -343,19 +352,9 @@ public class Biasa {
         return datasetPath.replaceAll("[^a-zA-Z0-9-_\\.]", "_");
     }
 
-    private static void initCsv(String csvPath) throws IOException {
-        java.io.File f = new java.io.File(csvPath);
-        if (!f.exists()) {
-            try (PrintWriter pw = new PrintWriter(new FileWriter(f, false))) {
-                pw.println(CSV_HEADER);
-            }
-        }
-    }
-
-    private static void appendCsv(String csvPath, String line) throws IOException {
-        try (PrintWriter pw = new PrintWriter(new FileWriter(csvPath, true))) {
-            pw.println(line);
-        }
+    private static long fileSize(String path) throws IOException {
+        Path p = Paths.get(path);
+        return Files.exists(p) ? Files.size(p) : 0;
     }
 
     private static String getFolderTag(String datasetPath) {
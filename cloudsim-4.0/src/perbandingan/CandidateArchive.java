@@ -0,0 +1,66 @@
+package perbandingan;
+
+import java.util.Arrays;
+
+/**
+ * Arsip k pemetaan berbeda dengan makespan surrogate terkecil yang pernah dievaluasi swarm.
+ *
+ * Pemetaan hanya disalin jika nilainya lolos ambang (lebih kecil dari entri ke-k), jadi biaya
+ * per evaluasi partikel hanya satu perbandingan. Entri urut naik menurut nilai; pemetaan yang
+ * sama persis hanya disimpan sekali.
+ */
+final class CandidateArchive {
+
+    private final int capacity;
+    private final double[] values;
+    private final int[][] mappings;
+    private final int[] hashes;
+    private int size;
+
+    CandidateArchive(int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("Kapasitas arsip harus >= 1: " + capacity);
+        this.capacity = capacity;
+        values = new double[capacity];
+        mappings = new int[capacity][];
+        hashes = new int[capacity];
+    }
+
+    /** Nilai yang harus dikalahkan agar masuk arsip. */
+    double threshold() {
+        return size < capacity ? Double.POSITIVE_INFINITY : values[size - 1];
+    }
+
+    void offer(double value, PositionStore pos, int row) {
+        if (value < threshold()) offer(value, pos.toIntArray(row));
+    }
+
+    void offer(double value, int[] mapping) {
+        if (value >= threshold()) return;
+        int hash = Arrays.hashCode(mapping);
+        for (int r = 0; r < size; r++) {
+            if (hashes[r] == hash && Arrays.equals(mappings[r], mapping)) return;
+        }
+        int at = (size < capacity) ? size++ : size - 1; // entri terburuk tergeser keluar
+        while (at > 0 && values[at - 1] > value) {
+            values[at] = values[at - 1];
+            mappings[at] = mappings[at - 1];
+            hashes[at] = hashes[at - 1];
+            at--;
+        }
+        values[at] = value;
+        mappings[at] = mapping.clone();
+        hashes[at] = hash;
+    }
+
+    int size() {
+        return size;
+    }
+
+    double value(int r) {
+        return values[r];
+    }
+
+    int[] mapping(int r) {
+        return mappings[r];
+    }
+}
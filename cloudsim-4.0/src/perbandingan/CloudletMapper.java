@@ -0,0 +1,34 @@
+package perbandingan;
+
+/**
+ * Pemetaan cloudlet -> VM untuk batch statis: mapping[i] adalah indeks VM (posisi di daftar VM)
+ * untuk cloudlet ke-i. Dipakai oleh driver Biasa dan baru.ContohCloudsim (-Dmapper=...).
+ */
+public interface CloudletMapper {
+
+    /**
+     * @param lengths panjang cloudlet (MI)
+     * @param vmMips  kapasitas tiap VM (MIPS), urut sesuai daftar VM
+     */
+    int[] map(long[] lengths, double[] vmMips);
+
+    String name();
+
+    /** rr (round-robin), lpt, greedy (beban minimum, urutan datang), minmin, maxmin. */
+    static CloudletMapper of(String name) {
+        switch (name.toLowerCase(java.util.Locale.ROOT)) {
+            case "rr":
+                return new HeuristicMappers.RoundRobin();
+            case "lpt":
+                return new HeuristicMappers.Lpt();
+            case "greedy":
+                return new HeuristicMappers.Greedy();
+            case "minmin":
+                return new HeuristicMappers.MinMin();
+            case "maxmin":
+                return new HeuristicMappers.MaxMin();
+            default:
+                throw new IllegalArgumentException("Mapper tidak dikenal: " + name + " (rr|lpt|greedy|minmin|maxmin)");
+        }
+    }
+}
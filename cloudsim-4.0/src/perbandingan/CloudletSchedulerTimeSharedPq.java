@@ -0,0 +1,269 @@
+package perbandingan;
+
+import org.cloudbus.cloudsim.Cloudlet;
+import org.cloudbus.cloudsim.CloudletScheduler;
+import org.cloudbus.cloudsim.CloudletSchedulerTimeShared;
+import org.cloudbus.cloudsim.Consts;
+import org.cloudbus.cloudsim.ResCloudlet;
+import org.cloudbus.cloudsim.core.CloudSim;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Time-shared seperti {@link CloudletSchedulerTimeShared}, tetapi tiap event O(log k) per cloudlet
+ * selesai, bukan O(k^2) (bawaan memanggil getCapacity, yang menelusuri exec list, untuk tiap cloudlet).
+ *
+ * Pada processor sharing semua cloudlet ber-PE sama mendapat jatah yang sama, jadi cukup satu
+ * penghitung kerja kumulatif per jumlah PE. Cloudlet disimpan dengan ambang "kerja saat selesai";
+ * cloudlet terdekat ada di puncak priority queue. Aritmetika disalin dari bawaan (instruksi long
+ * yang dipotong per update, selesai saat sisa &lt; 1 MI, estimasi memakai sisa MI dibulatkan ke
+ * bawah, jeda minimum antar-event) sehingga waktu mulai/selesai cloudlet sama dengan bawaan.
+ *
+ * Cloudlet yang berjalan tidak ada di getCloudletExecList(); pakai {@link #runningCloudlets()}.
+ * Pilih implementasi lewat {@link #create()}: -Dvm.scheduler=pq (bawaan) atau cloudsim.
+ */
+public class CloudletSchedulerTimeSharedPq extends CloudletSchedulerTimeShared {
+
+    private static final String SCHEDULER = System.getProperty("vm.scheduler", "pq");
+
+    /** Scheduler untuk VM baru sesuai -Dvm.scheduler. */
+    public static CloudletScheduler create() {
+        switch (SCHEDULER) {
+            case "pq":
+                return new CloudletSchedulerTimeSharedPq();
+            case "cloudsim":
+                return new CloudletSchedulerTimeShared();
+            default:
+                throw new IllegalArgumentException("vm.scheduler tidak dikenal: " + SCHEDULER + " (pq|cloudsim)");
+        }
+    }
+
+    private static final class Running {
+        final ResCloudlet rcl;
+        final Group group;
+        final long startWork; // kerja grup saat mulai/dilanjutkan
+        final long doneWork;  // kerja grup saat sisa instruksi habis
+        final long seq;       // urutan masuk, sama dengan urutan exec list bawaan
+        boolean active = true;
+
+        Running(ResCloudlet rcl, Group group, long remaining, long seq) {
+            this.rcl = rcl;
+            this.group = group;
+            this.startWork = group.work;
+            this.doneWork = group.work + remaining;
+            this.seq = seq;
+        }
+
+        long remaining() {
+            return doneWork - group.work;
+        }
+    }
+
+    // cloudlet dengan jumlah PE sama menerima instruksi yang sama tiap update
+    private static final class Group {
+        final int pes;
+        long work;
+        final PriorityQueue<Running> queue = new PriorityQueue<>((a, b) -> Long.compare(a.doneWork, b.doneWork));
+
+        Group(int pes) {
+            this.pes = pes;
+        }
+
+        Running top() {
+            while (!queue.isEmpty() && !queue.peek().active) queue.poll(); // buang yang sudah dibatalkan/dijeda
+            return queue.peek();
+        }
+    }
+
+    private final List<Group> groups = new ArrayList<>(1);
+    private final Map<Integer, Running> running = new LinkedHashMap<>();
+    private final Map<Integer, Long> pausedRemaining = new LinkedHashMap<>();
+    private int pesInUse;
+    private long nextSeq;
+
+    @Override
+    public double updateVmProcessing(double currentTime, List<Double> mipsShare) {
+        setCurrentMipsShare(mipsShare);
+        double timeSpan = currentTime - getPreviousTime();
+        if (running.isEmpty()) {
+            setPreviousTime(currentTime);
+            return 0.0;
+        }
+
+        double capacity = getCapacity(mipsShare);
+        for (Group g : groups) g.work += (long) (capacity * timeSpan * g.pes * Consts.MILLION);
+
+        List<Running> finished = new ArrayList<>();
+        for (Group g : groups) {
+            for (Running r = g.top(); r != null && r.remaining() < Consts.MILLION; r = g.top()) {
+                g.queue.poll();
+                stop(r);
+                finished.add(r);
+            }
+        }
+        if (finished.size() > 1) finished.sort((a, b) -> Long.compare(a.seq, b.seq));
+        for (Running r : finished) cloudletFinish(r.rcl);
+
+        double nextEvent = Double.MAX_VALUE;
+        capacity = getCapacity(mipsShare);
+        for (Group g : groups) {
+            Running r = g.top();
+            if (r == null) continue;
+            double estimatedFinishTime = currentTime + (remainingMi(r) / (capacity * g.pes));
+            if (estimatedFinishTime - currentTime < CloudSim.getMinTimeBetweenEvents()) {
+                estimatedFinishTime = currentTime + CloudSim.getMinTimeBetweenEvents();
+            }
+            if (estimatedFinishTime < nextEvent) nextEvent = estimatedFinishTime;
+        }
+        setPreviousTime(currentTime);
+        return nextEvent;
+    }
+
+    // sama dengan bawaan, tetapi jumlah PE terpakai dari penghitung, bukan menelusuri exec list
+    @Override
+    protected double getCapacity(List<Double> mipsShare) {
+        double capacity = 0.0;
+        int cpus = 0;
+        for (Double mips : mipsShare) {
+            capacity += mips;
+            if (mips > 0.0) cpus++;
+        }
+        currentCPUs = cpus;
+        if (pesInUse > currentCPUs) {
+            capacity /= pesInUse;
+        } else {
+            capacity /= currentCPUs;
+        }
+        return capacity;
+    }
+
+    @Override
+    public double cloudletSubmit(Cloudlet cloudlet, double fileTransferTime) {
+        ResCloudlet rcl = new ResCloudlet(cloudlet);
+        long finishedSoFar = cloudlet.getCloudletFinishedSoFar() * Consts.MILLION; // seperti ResCloudlet
+        rcl.setCloudletStatus(Cloudlet.INEXEC);
+        for (int i = 0; i < cloudlet.getNumberOfPes(); i++) {
+            rcl.setMachineAndPeId(0, i);
+        }
+        pesInUse += rcl.getNumberOfPes();
+
+        double extraSize = getCapacity(getCurrentMipsShare()) * fileTransferTime;
+        long length = (long) (cloudlet.getCloudletLength() + extraSize);
+        cloudlet.setCloudletLength(length);
+        start(rcl, cloudlet.getCloudletTotalLength() * Consts.MILLION - finishedSoFar);
+
+        return cloudlet.getCloudletLength() / getCapacity(getCurrentMipsShare());
+    }
+
+    @Override
+    public Cloudlet cloudletCancel(int cloudletId) {
+        Running r = running.get(cloudletId);
+        if (r == null) return super.cloudletCancel(cloudletId); // selesai atau dijeda
+        stop(r);
+        progress(r);
+        if (remainingMi(r) == 0) {
+            cloudletFinish(r.rcl);
+        } else {
+            r.rcl.setCloudletStatus(Cloudlet.CANCELED);
+        }
+        return r.rcl.getCloudlet();
+    }
+
+    @Override
+    public boolean cloudletPause(int cloudletId) {
+        Running r = running.get(cloudletId);
+        if (r == null) return false;
+        stop(r);
+        progress(r);
+        if (remainingMi(r) == 0) {
+            cloudletFinish(r.rcl);
+        } else {
+            r.rcl.setCloudletStatus(Cloudlet.PAUSED);
+            getCloudletPausedList().add(r.rcl);
+            pausedRemaining.put(cloudletId, r.remaining());
+        }
+        return true;
+    }
+
+    @Override
+    public double cloudletResume(int cloudletId) {
+        Iterator<ResCloudlet> it = getCloudletPausedList().iterator();
+        while (it.hasNext()) {
+            ResCloudlet rcl = it.next();
+            if (rcl.getCloudletId() != cloudletId) continue;
+            it.remove();
+            rcl.setCloudletStatus(Cloudlet.INEXEC);
+            pesInUse += rcl.getNumberOfPes();
+            Long remaining = pausedRemaining.remove(cloudletId);
+            start(rcl, remaining != null ? remaining
+                    : rcl.getCloudletTotalLength() * Consts.MILLION - rcl.getCloudlet().getCloudletFinishedSoFar() * Consts.MILLION);
+
+            double remainingLength = rcl.getRemainingCloudletLength();
+            return CloudSim.clock() + (remainingLength / (getCapacity(getCurrentMipsShare()) * rcl.getNumberOfPes()));
+        }
+        return 0.0;
+    }
+
+    // bawaan memindahkan cloudlet terlama di exec list
+    @Override
+    public Cloudlet migrateCloudlet() {
+        Running r = running.values().iterator().next();
+        stop(r);
+        progress(r);
+        r.rcl.finalizeCloudlet();
+        return r.rcl.getCloudlet();
+    }
+
+    @Override
+    public int getCloudletStatus(int cloudletId) {
+        Running r = running.get(cloudletId);
+        return (r != null) ? r.rcl.getCloudletStatus() : super.getCloudletStatus(cloudletId);
+    }
+
+    @Override
+    public double getTotalUtilizationOfCpu(double time) {
+        double totalUtilization = 0;
+        for (Running r : running.values()) totalUtilization += r.rcl.getCloudlet().getUtilizationOfCpu(time);
+        return totalUtilization;
+    }
+
+    @Override
+    public int runningCloudlets() {
+        return running.size();
+    }
+
+    private void start(ResCloudlet rcl, long remaining) {
+        int pes = rcl.getNumberOfPes();
+        Group group = null;
+        for (Group g : groups) if (g.pes == pes) group = g;
+        if (group == null) {
+            group = new Group(pes);
+            groups.add(group);
+        }
+        Running r = new Running(rcl, group, remaining, nextSeq++);
+        group.queue.add(r);
+        running.put(rcl.getCloudletId(), r);
+    }
+
+    private void stop(Running r) {
+        r.active = false;
+        running.remove(r.rcl.getCloudletId());
+        pesInUse -= r.rcl.getNumberOfPes();
+    }
+
+    // tulis instruksi yang sudah dikerjakan ke ResCloudlet (hanya saat keluar sebelum selesai)
+    private static void progress(Running r) {
+        r.rcl.updateCloudletFinishedSoFar(r.group.work - r.startWork);
+    }
+
+    // sama dengan ResCloudlet.getRemainingCloudletLength
+    private static long remainingMi(Running r) {
+        long remaining = r.remaining();
+        return remaining < 0 ? 0 : remaining / Consts.MILLION;
+    }
+}
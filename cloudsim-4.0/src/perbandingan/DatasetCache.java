@@ -0,0 +1,184 @@
+package perbandingan;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+/**
+ * Pemuat dataset panjang cloudlet (satu angka per baris) dengan cache biner.
+ *
+ * Teks hanya di-parse sekali; hasilnya disimpan sebagai sidecar {@code <dataset>.lens} di samping
+ * file sumber dan dibaca lewat memory-mapped NIO pada pemanggilan berikutnya. Di dalam satu JVM
+ * hasilnya juga disimpan di memori, jadi 10 percobaan hanya membaca disk sekali.
+ *
+ * Format sidecar (little-endian):
+ * <pre>
+ *   0  magic "SOKALEN1" (8 byte)
+ *   8  jumlah nilai (long)
+ *  16  ukuran file sumber (long)
+ *  24  waktu modifikasi sumber, ms (long)
+ *  32  CRC32 isi file sumber (long)
+ *  40  nilai panjang cloudlet (long x jumlah)
+ * </pre>
+ * Sidecar dipakai jika ukuran & waktu modifikasi sumber cocok. Jika sumber lebih baru tetapi
+ * CRC32-nya sama (misalnya tersentuh git checkout) header cukup diperbarui; selain itu teks
+ * di-parse ulang. Aturan parse sama dengan loader lama: baris di-trim, baris kosong dan yang
+ * gagal {@link Long#parseLong} dilewati.
+ *
+ * Nonaktifkan sidecar dengan -Ddataset.cache=false (cache memori tetap aktif).
+ */
+public final class DatasetCache {
+
+    static final String SUFFIX = ".lens";
+    private static final long MAGIC = 0x314E454C414B4F53L; // "SOKALEN1" little-endian
+    private static final int HEADER_BYTES = 40;
+    private static final boolean SIDECAR = !"false".equalsIgnoreCase(System.getProperty("dataset.cache", "true"));
+
+    private static final Map<Path, Entry> MEMORY = new ConcurrentHashMap<>();
+
+    private DatasetCache() {}
+
+    private static final class Entry {
+        final long size;
+        final long mtime;
+        final long[] values;
+
+        Entry(long size, long mtime, long[] values) {
+            this.size = size;
+            this.mtime = mtime;
+            this.values = values;
+        }
+    }
+
+    /** Panjang cloudlet dari file dataset; salinan baru tiap panggilan (aman diacak pemanggil). */
+    public static long[] load(String filePath) throws IOException {
+        Path src = Paths.get(filePath).toAbsolutePath().normalize();
+        long size = Files.size(src);
+        long mtime = Files.getLastModifiedTime(src).toMillis();
+
+        // compute: pemanggil serentak untuk file yang sama menunggu satu parse, bukan mengulanginya
+        try {
+            Entry e = MEMORY.compute(src, (p, old) -> {
+                if (old != null && old.size == size && old.mtime == mtime) return old;
+                try {
+                    return new Entry(size, mtime, SIDECAR ? loadViaSidecar(p, size, mtime) : parseText(p));
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+            return e.values.clone();
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    /** Kosongkan cache memori (untuk pengukuran jalur sidecar di DiagnostikPso). */
+    static void clearMemory() {
+        MEMORY.clear();
+    }
+
+    static Path sidecarOf(Path src) {
+        return src.resolveSibling(src.getFileName() + SUFFIX);
+    }
+
+    private static long[] loadViaSidecar(Path src, long size, long mtime) throws IOException {
+        Path bin = sidecarOf(src);
+        long[] values = null;
+        long storedMtime = 0, storedCrc = 0;
+        if (Files.isRegularFile(bin)) {
+            try (FileChannel ch = FileChannel.open(bin, StandardOpenOption.READ)) {
+                long binSize = ch.size();
+                if (binSize >= HEADER_BYTES) {
+                    MappedByteBuffer map = ch.map(FileChannel.MapMode.READ_ONLY, 0, binSize);
+                    map.order(ByteOrder.LITTLE_ENDIAN);
+                    long count = map.getLong(8);
+                    if (map.getLong(0) == MAGIC && count >= 0 && count <= Integer.MAX_VALUE
+                            && binSize == HEADER_BYTES + 8 * count && map.getLong(16) == size) {
+                        storedMtime = map.getLong(24);
+                        storedCrc = map.getLong(32);
+                        values = new long[(int) count];
+                        map.position(HEADER_BYTES);
+                        map.asLongBuffer().get(values);
+                    }
+                }
+            }
+        }
+        if (values != null && storedMtime == mtime) return values;
+
+        long crc = crcOf(src);
+        if (values == null || storedCrc != crc) values = parseText(src);
+        // sidecar ditulis setelah mapping ditutup (Windows menolak mengganti file yang sedang di-map)
+        writeSidecar(bin, values, size, mtime, crc);
+        return values;
+    }
+
+    // tulis ke file sementara lalu pindahkan, agar pembaca lain tidak melihat sidecar setengah jadi;
+    // nama sementara unik karena classloader worker dan JVM worker farm bisa menulis sidecar yang sama
+    private static void writeSidecar(Path bin, long[] values, long size, long mtime, long crc) {
+        Path tmp = null;
+        try {
+            tmp = Files.createTempFile(bin.getParent(), bin.getFileName() + ".", ".tmp");
+            if (tmp.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+                // createTempFile membuat rw------- ; sidecar dibaca pengguna lain seperti dataset-nya
+                Files.setPosixFilePermissions(tmp, PosixFilePermissions.fromString("rw-r--r--"));
+            }
+            ByteBuffer buf = ByteBuffer.allocate(HEADER_BYTES + 8 * values.length).order(ByteOrder.LITTLE_ENDIAN);
+            buf.putLong(MAGIC).putLong(values.length).putLong(size).putLong(mtime).putLong(crc);
+            buf.asLongBuffer().put(values);
+            buf.rewind();
+            try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                while (buf.hasRemaining()) ch.write(buf);
+            }
+            Files.move(tmp, bin, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            // folder dataset read-only dsb.: tetap jalan dengan hasil parse
+            System.err.println("Cache dataset tidak bisa ditulis (" + bin + "): " + ex.getMessage());
+            if (tmp != null) try { Files.deleteIfExists(tmp); } catch (IOException ignored) {}
+        }
+    }
+
+    private static long[] parseText(Path src) throws IOException {
+        long[] out = new long[1024];
+        int n = 0;
+        try (BufferedReader br = new BufferedReader(new FileReader(src.toFile()))) {
+            String s;
+            while ((s = br.readLine()) != null) {
+                s = s.trim();
+                if (s.isEmpty()) continue;
+                try {
+                    long v = Long.parseLong(s);
+                    if (n == out.length) out = Arrays.copyOf(out, n * 2);
+                    out[n++] = v;
+                } catch (NumberFormatException ignored) {
+                }
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    private static long crcOf(Path src) throws IOException {
+        CRC32 crc = new CRC32();
+        try (FileChannel ch = FileChannel.open(src, StandardOpenOption.READ)) {
+            long size = ch.size();
+            for (long pos = 0; pos < size; pos += Integer.MAX_VALUE) {
+                crc.update(ch.map(FileChannel.MapMode.READ_ONLY, pos, Math.min(Integer.MAX_VALUE, size - pos)));
+            }
+        }
+        return crc.getValue();
+    }
+}
@@ -0,0 +1,586 @@
+package perbandingan;
+
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Pemeriksaan mandiri untuk komponen PSO (dijalankan manual, keluar dengan kode 1 jika gagal).
+ *
+ * Pemakaian: java perbandingan.DiagnostikPso (fitness|paralel|alokasi|distribusi|evaluator|lokal|mapper|hangat|dataset) [dataset...]
+ */
+public class DiagnostikPso {
+
+    private static final String[] DEFAULT_DATASETS = {
+            "datasets/randomSimple/RandSimple1000.txt",
+            "datasets/randomStratified/RandStratified10000.txt",
+            "datasets/SDSC/SDSCDataset.txt"
+    };
+    private static final int NUM_VM = 54;
+
+    public static void main(String[] args) throws Exception {
+        String cmd = args.length > 0 ? args[0] : "fitness";
+        String[] datasets = args.length > 1 ? java.util.Arrays.copyOfRange(args, 1, args.length) : DEFAULT_DATASETS;
+
+        boolean ok;
+        switch (cmd) {
+            case "fitness":
+                ok = cekFitness(datasets);
+                break;
+            case "paralel":
+                ok = cekParalel(datasets);
+                break;
+            case "alokasi":
+                ok = cekAlokasi(datasets);
+                break;
+            case "distribusi":
+                ok = cekDistribusi(datasets);
+                break;
+            case "evaluator":
+                ok = cekEvaluator(datasets);
+                break;
+            case "lokal":
+                ok = cekLokal(datasets);
+                break;
+            case "mapper":
+                ok = cekMapper(datasets);
+                break;
+            case "hangat":
+                ok = cekHangat(datasets);
+                break;
+            case "dataset":
+                ok = cekDataset(datasets);
+                break;
+            default:
+                System.out.println("Perintah tidak dikenal: " + cmd);
+                ok = false;
+        }
+        System.out.println(ok ? "OK" : "GAGAL");
+        if (!ok) System.exit(1);
+    }
+
+    // ===== Fitness inkremental vs evalMakespan penuh =====
+    private static boolean cekFitness(String[] datasets) throws Exception {
+        boolean ok = true;
+        for (String path : datasets) {
+            long[] lengths = pso.loadDataset(path);
+            int n = lengths.length;
+            Random rnd = new Random(7L);
+            double[] vmMips = randomVmMips(rnd);
+
+            int[] assign = new int[n];
+            for (int i = 0; i < n; i++) assign[i] = rnd.nextInt(NUM_VM);
+            MakespanTracker tracker = new MakespanTracker(lengths, vmMips);
+            tracker.reset(assign);
+
+            long checks = 0, mismatches = 0;
+            // beberapa ronde update ala PSO: sebagian kecil cloudlet berpindah, cek tiap ronde
+            for (int round = 0; round < 300; round++) {
+                int moves = 1 + rnd.nextInt(Math.max(1, n / 4));
+                for (int k = 0; k < moves; k++) {
+                    int i = rnd.nextInt(n);
+                    int to = rnd.nextInt(NUM_VM);
+                    tracker.move(i, assign[i], to);
+                    assign[i] = to;
+                    if (round % 100 == 0) {
+                        checks++;
+                        if (Double.compare(tracker.makespan(), pso.evalMakespan(lengths, vmMips, assign)) != 0) mismatches++;
+                    }
+                }
+                checks++;
+                if (Double.compare(tracker.makespan(), pso.evalMakespan(lengths, vmMips, assign)) != 0) mismatches++;
+            }
+
+            System.out.printf(Locale.US, "fitness %s n=%d cek=%d selisih=%d%n", path, n, checks, mismatches);
+            if (mismatches > 0) ok = false;
+        }
+        return ok;
+    }
+
+    // ===== Swarm paralel: hasil harus identik untuk semua jumlah thread =====
+    private static boolean cekParalel(String[] datasets) throws Exception {
+        boolean ok = true;
+        int maxThreads = Runtime.getRuntime().availableProcessors();
+        for (String path : datasets) {
+            long[] lengths = pso.loadDataset(path);
+            double[] vmMips = randomVmMips(new Random(7L));
+            long seed = 2026L;
+
+            int[] ref = null;
+            double refVal = 0;
+            for (int threads = 1; threads <= Math.max(maxThreads, 4); threads *= 2) {
+                long t0 = System.nanoTime();
+                ParallelSwarm swarm = new ParallelSwarm(lengths, vmMips, PsoRandom.create("splittable", seed), UpdateKernel.LEGACY);
+                int[] mapping = swarm.run(threads);
+                double ms = (System.nanoTime() - t0) / 1e6;
+                boolean same = ref == null
+                        || (java.util.Arrays.equals(ref, mapping) && Double.compare(refVal, swarm.gbestValue()) == 0);
+                if (ref == null) { ref = mapping; refVal = swarm.gbestValue(); }
+                System.out.printf(Locale.US, "paralel %s n=%d threads=%d makespan=%.6f waktu=%.1fms %s%n",
+                        path, lengths.length, threads, swarm.gbestValue(), ms, same ? "identik" : "BERBEDA");
+                if (!same) ok = false;
+            }
+
+            // model pulau: 4 pulau, migrasi tiap 10 iterasi, 1 thread vs 4 thread
+            int[] islandRef = null;
+            for (int threads : new int[]{1, 4}) {
+                IslandModel.Result r = new IslandModel(4, 10, 2).run(lengths, vmMips, pso.PSO_PARTICLES,
+                        PsoRandom.create("splittable", seed), UpdateKernel.FAST,
+                        TerminationPolicy.iterations(pso.PSO_ITERATIONS), threads);
+                boolean same = islandRef == null || java.util.Arrays.equals(islandRef, r.best.mapping);
+                if (islandRef == null) islandRef = r.best.mapping;
+                System.out.printf(Locale.US, "pulau %s threads=%d makespan=%.6f %s%n",
+                        path, threads, r.best.makespan, same ? "identik" : "BERBEDA");
+                if (!same) ok = false;
+            }
+        }
+        return ok;
+    }
+
+    // ===== Alokasi memori: posisi int[][] + clone (implementasi lama) vs PositionStore =====
+    private static boolean cekAlokasi(String[] datasets) throws Exception {
+        com.sun.management.ThreadMXBean mx =
+                (com.sun.management.ThreadMXBean) java.lang.management.ManagementFactory.getThreadMXBean();
+        long tid = Thread.currentThread().getId();
+        boolean ok = true;
+        for (String path : datasets) {
+            long[] lengths = pso.loadDataset(path);
+            double[] vmMips = randomVmMips(new Random(7L));
+
+            // pemanasan JIT agar alokasi sementara kompilasi tidak ikut terhitung
+            legacyPsoAssign(lengths, vmMips, new Random(1L));
+            pso.psoAssign(lengths, vmMips, new Random(1L));
+
+            long a0 = mx.getThreadAllocatedBytes(tid);
+            long t0 = System.nanoTime();
+            int[] legacy = legacyPsoAssign(lengths, vmMips, new Random(2025L));
+            long t1 = System.nanoTime();
+            long a1 = mx.getThreadAllocatedBytes(tid);
+            int[] packed = pso.psoAssign(lengths, vmMips, new Random(2025L));
+            long t2 = System.nanoTime();
+            long a2 = mx.getThreadAllocatedBytes(tid);
+
+            boolean same = java.util.Arrays.equals(legacy, packed);
+            PositionStore store = PositionStore.create(2 * pso.PSO_PARTICLES + 1, lengths.length, vmMips.length);
+            System.out.printf(Locale.US,
+                    "alokasi %s n=%d lama=%.2fMB (%.0f MB/s) baru=%.2fMB (%.0f MB/s) posisi baru=%.2fMB/%dB per entri %s%n",
+                    path, lengths.length,
+                    (a1 - a0) / 1e6, (a1 - a0) / 1e6 / ((t1 - t0) / 1e9),
+                    (a2 - a1) / 1e6, (a2 - a1) / 1e6 / ((t2 - t1) / 1e9),
+                    store.footprintBytes() / 1e6, store.bytesPerEntry(),
+                    same ? "hasil identik" : "HASIL BERBEDA");
+            if (!same) ok = false;
+        }
+        return ok;
+    }
+
+    // Salinan psoAssign sebelum PositionStore (int[][] dan clone tiap perbaikan), hanya untuk pembanding
+    private static int[] legacyPsoAssign(long[] lengths, double[] vmMips, Random rnd) {
+        int n = lengths.length;
+        int m = vmMips.length;
+        int[][] pos = new int[pso.PSO_PARTICLES][n];
+        int[][] pbestPos = new int[pso.PSO_PARTICLES][n];
+        double[] pbestVal = new double[pso.PSO_PARTICLES];
+        MakespanTracker[] fit = new MakespanTracker[pso.PSO_PARTICLES];
+        for (int p = 0; p < pso.PSO_PARTICLES; p++) {
+            for (int i = 0; i < n; i++) pos[p][i] = rnd.nextInt(m);
+            pbestPos[p] = pos[p].clone();
+            fit[p] = new MakespanTracker(lengths, vmMips);
+            fit[p].reset(pos[p]);
+            pbestVal[p] = fit[p].makespan();
+        }
+        int gIdx = 0;
+        for (int p = 1; p < pbestVal.length; p++) if (pbestVal[p] < pbestVal[gIdx]) gIdx = p;
+        int[] gbestPos = pbestPos[gIdx].clone();
+        double gbestVal = pbestVal[gIdx];
+        for (int it = 0; it < pso.PSO_ITERATIONS; it++) {
+            for (int p = 0; p < pso.PSO_PARTICLES; p++) {
+                int[] x = pos[p];
+                for (int i = 0; i < n; i++) {
+                    int prev = x[i];
+                    int next = prev;
+                    double r = rnd.nextDouble();
+                    if (r < pso.PSO_KEEP_PROB) {
+                        // pertahankan
+                    } else if (r < pso.PSO_KEEP_PROB + pso.PSO_PBEST_PROB) {
+                        next = pbestPos[p][i];
+                    } else if (r < pso.PSO_KEEP_PROB + pso.PSO_PBEST_PROB + pso.PSO_GBEST_PROB) {
+                        next = gbestPos[i];
+                    } else {
+                        next = rnd.nextInt(m);
+                    }
+                    if (rnd.nextDouble() < pso.PSO_MUTATION_PROB) next = rnd.nextInt(m);
+                    if (next != prev) {
+                        x[i] = next;
+                        fit[p].move(i, prev, next);
+                    }
+                }
+                double val = fit[p].makespan();
+                if (val < pbestVal[p]) {
+                    pbestVal[p] = val;
+                    pbestPos[p] = pos[p].clone();
+                    if (val < gbestVal) {
+                        gbestVal = val;
+                        gbestPos = pbestPos[p].clone();
+                    }
+                }
+            }
+        }
+        return gbestPos;
+    }
+
+    // ===== Distribusi langkah kernel: empiris vs peluang teoretis, plus waktu psoAssign =====
+    private static boolean cekDistribusi(String[] datasets) throws Exception {
+        final int n = 1_000_000, m = 1000;
+        // peluang akhir nilai sebuah cloudlet: 0 = tetap, 1 = pbest, 2 = gbest, lainnya = acak/mutasi
+        double mut = pso.PSO_MUTATION_PROB;
+        double rest = Math.max(0, 1 - pso.PSO_KEEP_PROB - pso.PSO_PBEST_PROB - pso.PSO_GBEST_PROB);
+        double randomAny = mut + (1 - mut) * rest;
+        double[] expected = {
+                pso.PSO_KEEP_PROB * (1 - mut) + randomAny / m,
+                pso.PSO_PBEST_PROB * (1 - mut) + randomAny / m,
+                pso.PSO_GBEST_PROB * (1 - mut) + randomAny / m,
+                randomAny * (m - 3) / m
+        };
+
+        long[] ones = new long[n];
+        java.util.Arrays.fill(ones, 1L);
+        double[] mips = new double[m];
+        java.util.Arrays.fill(mips, 1000);
+
+        boolean ok = true;
+        for (String rng : new String[]{"jdk", "splittable", "xoshiro"}) {
+            for (UpdateKernel kernel : UpdateKernel.values()) {
+                PositionStore pos = PositionStore.create(3, n, m);
+                for (int i = 0; i < n; i++) { pos.set(1, i, 1); pos.set(2, i, 2); }
+                MakespanTracker f = new MakespanTracker(ones, mips);
+                f.reset(pos, 0);
+                kernel.update(pos, 0, 1, 2, f, PsoRandom.create(rng, 99L), m);
+
+                long[] count = new long[4];
+                for (int i = 0; i < n; i++) count[Math.min(pos.get(0, i), 3)]++;
+                double maxZ = 0;
+                for (int k = 0; k < 4; k++) {
+                    double mean = n * expected[k];
+                    double sd = Math.sqrt(n * expected[k] * (1 - expected[k]));
+                    maxZ = Math.max(maxZ, Math.abs(count[k] - mean) / sd);
+                }
+                boolean pass = maxZ < 5;
+                System.out.printf(Locale.US, "distribusi rng=%s kernel=%s tetap=%.4f pbest=%.4f gbest=%.4f acak=%.4f max|z|=%.2f %s%n",
+                        rng, kernel, count[0] / (double) n, count[1] / (double) n, count[2] / (double) n,
+                        count[3] / (double) n, maxZ, pass ? "sesuai" : "MENYIMPANG");
+                if (!pass) ok = false;
+            }
+        }
+        System.out.printf(Locale.US, "distribusi teoretis tetap=%.4f pbest=%.4f gbest=%.4f acak=%.4f%n",
+                expected[0], expected[1], expected[2], expected[3]);
+
+        for (String path : datasets) {
+            long[] lengths = pso.loadDataset(path);
+            double[] vmMips = randomVmMips(new Random(7L));
+            for (String[] combo : new String[][]{{"jdk", "LEGACY"}, {"splittable", "FAST"}, {"xoshiro", "FAST"}}) {
+                UpdateKernel kernel = UpdateKernel.valueOf(combo[1]);
+                pso.psoAssign(lengths, vmMips, PsoRandom.create(combo[0], 1L), kernel); // pemanasan
+                long t0 = System.nanoTime();
+                int[] map = pso.psoAssign(lengths, vmMips, PsoRandom.create(combo[0], 2025L), kernel);
+                double ms = (System.nanoTime() - t0) / 1e6;
+                System.out.printf(Locale.US, "waktu %s n=%d rng=%s kernel=%s psoAssign=%.1fms makespan=%.4f%n",
+                        path, lengths.length, combo[0], kernel, ms, pso.evalMakespan(lengths, vmMips, map));
+            }
+        }
+        return ok;
+    }
+
+    // ===== Evaluator penuh: pembagian per cloudlet (lama) vs scalar vs vector =====
+    // vector butuh VectorMakespan (src-vector) dan --add-modules jdk.incubator.vector; tanpa itu
+    // MakespanEvaluator kembali ke scalar dan baris vector membandingkan scalar dengan dirinya sendiri.
+    // Ukuran 1k, 10k dan 243360 (panjang trace SDSC7395) diambil berulang dari dataset pertama.
+    private static boolean cekEvaluator(String[] datasets) throws Exception {
+        long[] source = pso.loadDataset(datasets[0]);
+        double[] vmMips = randomVmMips(new Random(7L));
+        boolean ok = true;
+        for (int n : new int[]{1_000, 10_000, 243_360}) {
+            long[] lengths = new long[n];
+            for (int i = 0; i < n; i++) lengths[i] = source[i % source.length];
+            Random rnd = new Random(n);
+            int[][] assigns = new int[16][n];
+            for (int[] a : assigns) for (int i = 0; i < n; i++) a[i] = rnd.nextInt(NUM_VM);
+
+            MakespanEvaluator scalar = MakespanEvaluator.create("scalar", lengths, vmMips);
+            MakespanEvaluator active = MakespanEvaluator.create("vector", lengths, vmMips);
+            int reps = Math.max(20, 20_000_000 / n);
+
+            double maxRel = 0;
+            for (int[] a : assigns) {
+                double ref = scalar.makespan(a);
+                maxRel = Math.max(maxRel, Math.abs(active.makespan(a) - ref) / ref);
+            }
+            double nsDivide = timePerCloudlet(reps, n, () -> { double s = 0; for (int[] a : assigns) s += legacyEvalMakespan(lengths, vmMips, a); return s; });
+            double nsScalar = timePerCloudlet(reps, n, () -> { double s = 0; for (int[] a : assigns) s += scalar.makespan(a); return s; });
+            double nsActive = timePerCloudlet(reps, n, () -> { double s = 0; for (int[] a : assigns) s += active.makespan(a); return s; });
+
+            boolean pass = maxRel <= 0x1.0p-52;
+            System.out.printf(Locale.US, "evaluator n=%d bagi-per-cloudlet=%.3fns scalar=%.3fns %s=%.3fns (ns/cloudlet) selisih-relatif=%.3g %s%n",
+                    n, nsDivide, nsScalar, active.name(), nsActive, maxRel, pass ? "dalam toleransi" : "DI LUAR TOLERANSI");
+            if (!pass) ok = false;
+        }
+        return ok;
+    }
+
+    private static double timePerCloudlet(int reps, int n, java.util.function.DoubleSupplier body) {
+        double sink = 0;
+        for (int r = 0; r < Math.max(3, reps / 5); r++) sink += body.getAsDouble(); // pemanasan
+        long t0 = System.nanoTime();
+        for (int r = 0; r < reps; r++) sink += body.getAsDouble();
+        long t1 = System.nanoTime();
+        if (sink == 42) System.out.print(""); // cegah eliminasi
+        return (t1 - t0) / (double) reps / 16 / n;
+    }
+
+    // evalMakespan sebelum user-001: pembagian double per cloudlet
+    private static double legacyEvalMakespan(long[] lengths, double[] vmMips, int[] assign) {
+        double[] load = new double[vmMips.length];
+        for (int i = 0; i < lengths.length; i++) load[assign[i]] += lengths[i] / vmMips[assign[i]];
+        double max = 0;
+        for (double x : load) if (x > max) max = x;
+        return max;
+    }
+
+    // ===== Pencarian lokal: nilai yang dilaporkan harus sama dengan evalMakespan & tidak memburuk =====
+    private static boolean cekLokal(String[] datasets) throws Exception {
+        boolean ok = true;
+        for (String path : datasets) {
+            long[] lengths = pso.loadDataset(path);
+            double[] vmMips = randomVmMips(new Random(7L));
+            int[] mapping = pso.psoAssign(lengths, vmMips, PsoRandom.create("xoshiro", 5L), UpdateKernel.FAST);
+            double before = pso.evalMakespan(lengths, vmMips, mapping);
+
+            long t0 = System.nanoTime();
+            LocalSearch ls = new LocalSearch(lengths, vmMips, 1_000_000);
+            double after = ls.improve(mapping);
+            double ms = (System.nanoTime() - t0) / 1e6;
+            double check = pso.evalMakespan(lengths, vmMips, mapping);
+            double lb = TerminationPolicy.lowerBound(lengths, vmMips);
+
+            boolean pass = Double.compare(after, check) == 0 && after <= before;
+            System.out.printf(Locale.US, "lokal %s n=%d pso=%.4f lokal=%.4f batas-bawah=%.4f (%d pindah, %d tukar, %.1f ms) %s%n",
+                    path, lengths.length, before, after, lb, ls.moves(), ls.swaps(), ms, pass ? "konsisten" : "TIDAK KONSISTEN");
+            if (!pass) ok = false;
+        }
+        return ok;
+    }
+
+    // ===== Mapper konstruktif: ECT lewat heap harus sama dengan pencarian linear, plus waktu & kualitas =====
+    private static boolean cekMapper(String[] datasets) throws Exception {
+        boolean ok = true;
+        long[] source = pso.loadDataset(datasets[0]);
+        double[] vmMips = randomVmMips(new Random(7L));
+        for (int n : new int[]{10_000, 243_360, 1_000_000}) {
+            long[] lengths = new long[n];
+            for (int i = 0; i < n; i++) lengths[i] = source[i % source.length];
+            double lb = TerminationPolicy.lowerBound(lengths, vmMips);
+            StringBuilder line = new StringBuilder(String.format(Locale.US, "mapper n=%d batas-bawah=%.2f", n, lb));
+            for (String name : new String[]{"rr", "lpt", "minmin", "maxmin"}) {
+                CloudletMapper mapper = CloudletMapper.of(name);
+                mapper.map(lengths, vmMips); // pemanasan
+                long t0 = System.nanoTime();
+                int[] map = mapper.map(lengths, vmMips);
+                double ms = (System.nanoTime() - t0) / 1e6;
+                line.append(String.format(Locale.US, " | %s %.1fms makespan=%.2f", name, ms, pso.evalMakespan(lengths, vmMips, map)));
+            }
+            System.out.println(line);
+
+            if (n == 10_000) {
+                for (boolean desc : new boolean[]{false, true}) {
+                    int[] order = HeuristicMappers.sortedIndices(lengths, desc);
+                    boolean same = java.util.Arrays.equals(HeuristicMappers.earliestCompletion(lengths, vmMips, order),
+                            linearEarliestCompletion(lengths, vmMips, order));
+                    boolean sorted = true;
+                    for (int k = 1; k < n; k++) {
+                        long a = lengths[order[k - 1]], b = lengths[order[k]];
+                        if (desc ? a < b : a > b) sorted = false;
+                    }
+                    System.out.printf("mapper ECT %s: heap vs linear %s, urutan %s%n", desc ? "maxmin" : "minmin",
+                            same ? "identik" : "BERBEDA", sorted ? "benar" : "SALAH");
+                    if (!same || !sorted) ok = false;
+                }
+            }
+        }
+        return ok;
+    }
+
+    private static int[] linearEarliestCompletion(long[] lengths, double[] vmMips, int[] order) {
+        long[] mi = new long[vmMips.length];
+        int[] out = new int[lengths.length];
+        for (int c : order) {
+            int best = 0;
+            double bestT = Double.POSITIVE_INFINITY;
+            for (int v = 0; v < vmMips.length; v++) {
+                double t = (mi[v] + lengths[c]) / vmMips[v];
+                if (t < bestT) { bestT = t; best = v; }
+            }
+            mi[best] += lengths[c];
+            out[c] = best;
+        }
+        return out;
+    }
+
+    // ===== Inisialisasi hangat: iterasi yang dihemat untuk mencapai makespan akhir swarm acak =====
+    private static boolean cekHangat(String[] datasets) throws Exception {
+        final int trials = 5;
+        String[] specs = {"", "greedy:1", "lpt:1", "prev:1", "greedy:1,prev:1"};
+        boolean ok = true;
+        for (String path : datasets) {
+            long[] original = pso.loadDataset(path);
+            int[] hitSum = new int[specs.length];
+            int[] savedSum = new int[specs.length];
+            int[] reached = new int[specs.length];
+            double[] finalSum = new double[specs.length];
+            int[][] prevOriginal = new int[specs.length][];
+
+            for (int t = 1; t <= trials; t++) {
+                long[] lengths = original.clone();
+                int[] order = new int[lengths.length];
+                for (int i = 0; i < order.length; i++) order[i] = i;
+                shuffle(lengths, order, new Random(12345L + t));
+                double[] vmMips = randomVmMips(new Random(999L + t));
+
+                double[][] curves = new double[specs.length][];
+                for (int k = 0; k < specs.length; k++) {
+                    SwarmSeeding seeding = SwarmSeeding.parse(specs[k]);
+                    int[] previous = null;
+                    if (prevOriginal[k] != null) {
+                        previous = new int[order.length];
+                        for (int i = 0; i < order.length; i++) previous[i] = prevOriginal[k][order[i]];
+                    }
+                    int[][] seeds = seeding.build(lengths, vmMips, previous, pso.PSO_PARTICLES);
+
+                    Swarm swarm = new Swarm(lengths, vmMips, pso.PSO_PARTICLES, PsoRandom.create("xoshiro", 2025L + t), UpdateKernel.FAST);
+                    swarm.init(seeds);
+                    // gbest awal tidak boleh lebih buruk dari seed mana pun
+                    for (int[] seed : seeds) {
+                        if (swarm.gbestValue() > pso.evalMakespan(lengths, vmMips, seed)) {
+                            System.out.println("hangat: gbest awal lebih buruk dari seed (" + specs[k] + ")");
+                            ok = false;
+                        }
+                    }
+                    double[] curve = new double[pso.PSO_ITERATIONS + 1];
+                    curve[0] = swarm.gbestValue();
+                    for (int it = 1; it <= pso.PSO_ITERATIONS; it++) {
+                        swarm.iterate();
+                        curve[it] = swarm.gbestValue();
+                    }
+                    curves[k] = curve;
+
+                    int[] gbest = swarm.gbestMapping();
+                    prevOriginal[k] = new int[gbest.length];
+                    for (int i = 0; i < gbest.length; i++) prevOriginal[k][order[i]] = gbest[i];
+                }
+
+                // target = makespan akhir swarm acak pada percobaan ini
+                double target = curves[0][pso.PSO_ITERATIONS];
+                int coldHit = firstAtOrBelow(curves[0], target);
+                for (int k = 0; k < specs.length; k++) {
+                    int hit = firstAtOrBelow(curves[k], target);
+                    if (hit >= 0) {
+                        hitSum[k] += hit;
+                        savedSum[k] += coldHit - hit;
+                        reached[k]++;
+                    }
+                    finalSum[k] += curves[k][pso.PSO_ITERATIONS];
+                }
+            }
+
+            System.out.printf(Locale.US, "hangat %s n=%d (%d percobaan, target = makespan akhir swarm acak)%n", path, original.length, trials);
+            for (int k = 0; k < specs.length; k++) {
+                System.out.printf(Locale.US, "  %-16s mencapai target %d/%d, iterasi ke target %.1f (hemat %.1f vs acak), makespan akhir rata-rata %.2f%n",
+                        specs[k].isEmpty() ? "acak" : specs[k], reached[k], trials,
+                        reached[k] == 0 ? 0.0 : (double) hitSum[k] / reached[k],
+                        reached[k] == 0 ? 0.0 : (double) savedSum[k] / reached[k], finalSum[k] / trials);
+            }
+        }
+        return ok;
+    }
+
+    private static int firstAtOrBelow(double[] curve, double target) {
+        for (int i = 0; i < curve.length; i++) if (curve[i] <= target) return i;
+        return -1;
+    }
+
+    // sama dengan pengacakan di pso: order[i] = indeks asli cloudlet ke-i
+    private static void shuffle(long[] a, int[] order, Random rnd) {
+        for (int i = a.length - 1; i > 0; i--) {
+            int j = rnd.nextInt(i + 1);
+            long tmp = a[i]; a[i] = a[j]; a[j] = tmp;
+            int o = order[i]; order[i] = order[j]; order[j] = o;
+        }
+    }
+
+    // ===== Cache dataset biner: isi identik dengan parser teks lama, plus waktu muat per jalur =====
+    private static boolean cekDataset(String[] datasets) throws Exception {
+        boolean ok = true;
+        for (String path : datasets) {
+            java.nio.file.Path src = java.nio.file.Paths.get(path).toAbsolutePath().normalize();
+            java.nio.file.Path bin = DatasetCache.sidecarOf(src);
+
+            long t0 = System.nanoTime();
+            long[] legacy = legacyLoadDataset(path);
+            double legacyMs = (System.nanoTime() - t0) / 1e6;
+
+            java.nio.file.Files.deleteIfExists(bin);
+            DatasetCache.clearMemory();
+            t0 = System.nanoTime();
+            long[] built = DatasetCache.load(path);
+            double buildMs = (System.nanoTime() - t0) / 1e6;
+
+            DatasetCache.clearMemory();
+            t0 = System.nanoTime();
+            long[] mapped = DatasetCache.load(path);
+            double mappedMs = (System.nanoTime() - t0) / 1e6;
+
+            t0 = System.nanoTime();
+            long[] memory = DatasetCache.load(path);
+            double memoryMs = (System.nanoTime() - t0) / 1e6;
+
+            // sumber tersentuh tanpa perubahan isi: CRC sama, sidecar tetap dipakai
+            java.nio.file.attribute.FileTime mtime = java.nio.file.Files.getLastModifiedTime(src);
+            java.nio.file.Files.setLastModifiedTime(src, java.nio.file.attribute.FileTime.fromMillis(mtime.toMillis() + 1000));
+            DatasetCache.clearMemory();
+            t0 = System.nanoTime();
+            long[] touched = DatasetCache.load(path);
+            double touchedMs = (System.nanoTime() - t0) / 1e6;
+            java.nio.file.Files.setLastModifiedTime(src, mtime);
+            DatasetCache.clearMemory();
+
+            boolean same = java.util.Arrays.equals(legacy, built) && java.util.Arrays.equals(legacy, mapped)
+                    && java.util.Arrays.equals(legacy, memory) && java.util.Arrays.equals(legacy, touched);
+            System.out.printf(Locale.US,
+                    "dataset %s n=%d teks=%.1fms bangun-sidecar=%.1fms mmap=%.2fms memori=%.3fms tersentuh=%.1fms (%d byte) %s%n",
+                    path, legacy.length, legacyMs, buildMs, mappedMs, memoryMs, touchedMs,
+                    java.nio.file.Files.size(bin), same ? "identik" : "BERBEDA");
+            if (!same) ok = false;
+        }
+        return ok;
+    }
+
+    // loader teks sebelum DatasetCache (List<Long> lalu disalin ke long[])
+    private static long[] legacyLoadDataset(String filePath) throws java.io.IOException {
+        java.util.List<Long> vals = new java.util.ArrayList<>();
+        try (java.io.BufferedReader br = new java.io.BufferedReader(new java.io.FileReader(filePath))) {
+            String s;
+            while ((s = br.readLine()) != null) {
+                s = s.trim();
+                if (s.isEmpty()) continue;
+                try { vals.add(Long.parseLong(s)); } catch (NumberFormatException ignored) {}
+            }
+        }
+        long[] arr = new long[vals.size()];
+        for (int i = 0; i < vals.size(); i++) arr[i] = vals.get(i);
+        return arr;
+    }
+
+    private static double[] randomVmMips(Random rnd) {
+        double[] mips = new double[NUM_VM];
+        for (int j = 0; j < NUM_VM; j++) mips[j] = Math.round(1000 * (0.9 + rnd.nextDouble() * 0.2));
+        return mips;
+    }
+}
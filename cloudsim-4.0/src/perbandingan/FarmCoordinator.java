@@ -0,0 +1,378 @@
+package perbandingan;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Koordinator farm eksperimen: matriks (file dataset x algoritma x percobaan) dipecah menjadi unit
+ * kerja (satu run simulasi) dan dibagikan ke proses {@link FarmWorker} lewat socket.
+ *
+ * Sweep tiap job tetap dijalankan oleh main masing-masing algoritma ({@code pso.sweep},
+ * {@code Biasa.sweep}, {@code ContohCloudsim.sweepFolder}); selama koordinator aktif,
+ * {@link SweepExecutor} mengirim run-nya ke sini, bukan ke thread lokal. Karena itu CSV di
+ * {@code hasil/} dan {@code out/} ditulis oleh kode yang sama dengan tata letak dan urutan yang
+ * sama seperti dijalankan biasa. Job-job berjalan bersamaan sehingga antrean unit tidak pernah
+ * kosong selama masih ada pekerjaan.
+ *
+ * Unit yang sedang dikerjakan worker yang mati (koneksi putus, atau melewati batas waktu) dikembalikan
+ * ke depan antrean untuk worker lain; setelah -Dfarm.maxAttempts percobaan unit dianggap gagal.
+ * Percobaan baru dihitung setelah worker mengonfirmasi menerima unit, jadi koneksi yang sudah mati
+ * tidak menghabiskan jatah percobaan. Selama antrean kosong koordinator mengirim heartbeat tiap
+ * {@value #HEARTBEAT_MS} ms, sehingga worker yang mati saat menganggur cepat dilepas dan tidak lagi
+ * dihitung terhubung.
+ * Galat dari simulasi itu sendiri tidak diulang. Jika tidak ada worker terhubung selama
+ * -Dfarm.noWorkerTimeoutSec detik (bawaan 300, 0 = tunggu terus) sementara masih ada unit di antrean,
+ * unit-unit itu digagalkan agar job berhenti dengan galat, bukan menggantung.
+ *
+ * Koordinator hanya mendengarkan di loopback kecuali -Dfarm.bind diatur (mis. 0.0.0.0 atau alamat
+ * LAN). Worker harus mengirim token bersama -Dfarm.token saat bergabung; tanpa -Dfarm.token
+ * koordinator membuat token acak dan meneruskannya ke worker lokal lewat environment (dicetak
+ * hanya jika farm.bind bukan loopback, untuk worker jarak jauh).
+ *
+ * Pemakaian:
+ *   java -Dfarm.port=5050 -Dfarm.localWorkers=4 perbandingan.FarmCoordinator job...
+ *   java -Dfarm.bind=0.0.0.0 -Dfarm.token=rahasia perbandingan.FarmCoordinator job...
+ *   java -Dfarm.token=rahasia perbandingan.FarmWorker host:5050   (di mesin lain, direktori kerja berisi datasets/)
+ * job: pso:&lt;file|folder&gt;, biasa:&lt;file|folder&gt;, contoh[:&lt;folder&gt;]. Worker harus dijalankan dengan
+ * opsi -D yang sama (mapper, pso.*); worker lokal otomatis mewarisinya.
+ */
+public final class FarmCoordinator implements AutoCloseable {
+
+    private static final int PORT = Integer.getInteger("farm.port", 5050);
+    private static final int LOCAL_WORKERS = Integer.getInteger("farm.localWorkers", 0);
+    private static final int MAX_ATTEMPTS = Integer.getInteger("farm.maxAttempts", 3);
+    private static final int UNIT_TIMEOUT_MS = Integer.getInteger("farm.unitTimeoutSec", 0) * 1000;
+    private static final long NO_WORKER_TIMEOUT_NANOS = Integer.getInteger("farm.noWorkerTimeoutSec", 300) * 1_000_000_000L;
+    private static final int HANDSHAKE_TIMEOUT_MS = 10_000; // juga batas balasan heartbeat & konfirmasi unit
+    private static final int HEARTBEAT_MS = 5_000;
+    // opsi JVM yang tidak boleh diwarisi worker lokal: berkas JFR dan port debugger/JMX yang sama
+    private static final List<String> NOT_INHERITED = List.of("-XX:StartFlightRecording", "-XX:FlightRecorderOptions",
+            "-agentlib:", "-agentpath:", "-javaagent:", "-Xrunjdwp", "-Xdebug", "-Dcom.sun.management.jmxremote");
+
+    private static volatile FarmCoordinator active;
+
+    /** Satu run simulasi yang menunggu hasil dari worker. */
+    private static final class Unit {
+        final long id;
+        final String className;
+        final String methodName;
+        final Object[] args;
+        final CompletableFuture<double[]> result = new CompletableFuture<>();
+        int attempts;
+
+        Unit(long id, String className, String methodName, Object[] args) {
+            this.id = id;
+            this.className = className;
+            this.methodName = methodName;
+            this.args = args;
+        }
+    }
+
+    private final ServerSocket server;
+    private final String token;
+    private final BlockingDeque<Unit> queue = new LinkedBlockingDeque<>();
+    private final AtomicLong nextId = new AtomicLong();
+    private final AtomicInteger connected = new AtomicInteger();
+    private final List<Socket> sockets = new ArrayList<>();
+    private volatile boolean closed;
+
+    private FarmCoordinator(int port) throws IOException {
+        String bind = System.getProperty("farm.bind");
+        server = new ServerSocket(port, 50, bind == null ? InetAddress.getLoopbackAddress() : InetAddress.getByName(bind));
+        String shared = FarmWorker.token();
+        if (shared == null) {
+            byte[] b = new byte[16];
+            new SecureRandom().nextBytes(b);
+            shared = HexFormat.of().formatHex(b);
+            if (!server.getInetAddress().isLoopbackAddress()) {
+                System.out.println("Farm: token worker (jalankan worker dengan -Dfarm.token=...): " + shared);
+            }
+        }
+        token = shared;
+        Thread acceptor = new Thread(this::acceptLoop, "farm-accept");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        if (NO_WORKER_TIMEOUT_NANOS > 0) {
+            Thread watchdog = new Thread(this::watchdog, "farm-watchdog");
+            watchdog.setDaemon(true);
+            watchdog.start();
+        }
+    }
+
+    /** Koordinator yang sedang berjalan di JVM ini, atau null. */
+    static FarmCoordinator active() {
+        return active;
+    }
+
+    /** Mulai mendengarkan worker; SweepExecutor berikutnya memakai farm ini. */
+    public static FarmCoordinator start(int port) throws IOException {
+        FarmCoordinator farm = new FarmCoordinator(port);
+        active = farm;
+        return farm;
+    }
+
+    CompletableFuture<double[]> submit(String className, String methodName, Object[] args) {
+        Unit u = new Unit(nextId.incrementAndGet(), className, methodName, args);
+        queue.addLast(u);
+        return u.result;
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        if (active == this) active = null;
+        server.close();
+        synchronized (sockets) {
+            for (Socket s : sockets) s.close(); // worker membaca EOF lalu berhenti
+        }
+        for (Unit u : queue) u.result.cancel(false);
+    }
+
+    // ===== Koneksi worker =====
+    private void acceptLoop() {
+        while (!closed) {
+            try {
+                Socket s = server.accept();
+                synchronized (sockets) {
+                    sockets.add(s);
+                }
+                Thread t = new Thread(() -> serve(s), "farm-" + s.getRemoteSocketAddress());
+                t.setDaemon(true);
+                t.start();
+            } catch (IOException e) {
+                if (!closed) System.out.println("Farm: accept gagal: " + e.getMessage());
+            }
+        }
+    }
+
+    private void serve(Socket s) {
+        String name = String.valueOf(s.getRemoteSocketAddress());
+        Unit current = null;
+        boolean joined = false;
+        try (Socket socket = s;
+             ObjectOutputStream out = new ObjectOutputStream(socket.getOutputStream())) {
+            out.flush();
+            socket.setSoTimeout(HANDSHAKE_TIMEOUT_MS); // koneksi yang tidak bicara protokol tidak ditunggu
+            ObjectInputStream in = new ObjectInputStream(socket.getInputStream());
+            in.setObjectInputFilter(FarmWorker.MESSAGE_FILTER);
+            name = in.readUTF() + "@" + name;
+            if (!MessageDigest.isEqual(token.getBytes(StandardCharsets.UTF_8),
+                    in.readUTF().getBytes(StandardCharsets.UTF_8))) {
+                System.out.println("Farm: worker " + name + " ditolak (token salah)");
+                return;
+            }
+            joined = true;
+            System.out.println("Farm: worker " + name + " bergabung (" + connected.incrementAndGet() + " aktif)");
+
+            while (!closed) {
+                current = queue.pollFirst(HEARTBEAT_MS, TimeUnit.MILLISECONDS);
+                if (current == null) {
+                    // antrean kosong: pastikan worker masih hidup sebelum diberi unit berikutnya
+                    out.writeObject(new Object[0]);
+                    out.flush();
+                    if (((Object[]) in.readObject()).length != 0) throw new IOException("Balasan heartbeat tidak sah");
+                    continue;
+                }
+                if (current.result.isDone()) { // dibatalkan pemanggil
+                    current = null;
+                    continue;
+                }
+                out.writeObject(new Object[]{current.id, current.className, current.methodName, current.args});
+                out.flush();
+                out.reset();
+                Object[] ack = (Object[]) in.readObject();
+                if (ack.length != 1 || !Long.valueOf(current.id).equals(ack[0])) {
+                    throw new IOException("Konfirmasi untuk unit lain: " + Arrays.toString(ack));
+                }
+                current.attempts++;
+
+                socket.setSoTimeout(UNIT_TIMEOUT_MS);
+                Object[] reply = (Object[]) in.readObject();
+                socket.setSoTimeout(HANDSHAKE_TIMEOUT_MS);
+                if (!Long.valueOf(current.id).equals(reply[0])) throw new IOException("Balasan untuk unit lain: " + reply[0]);
+                if (reply[2] != null) {
+                    current.result.completeExceptionally(new IllegalStateException(
+                            "Unit #" + current.id + " gagal di " + name + ": " + reply[2]));
+                } else {
+                    current.result.complete((double[]) reply[1]);
+                }
+                current = null;
+            }
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            if (!closed) System.out.println("Farm: worker " + name + " putus (" + e + ")");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (joined) connected.decrementAndGet();
+            if (current != null && !current.result.isDone()) requeue(current, name);
+        }
+    }
+
+    // tanpa worker terhubung takeFirst tidak pernah dipanggil; unit yang menunggu digagalkan di sini
+    private void watchdog() {
+        long idleSince = System.nanoTime();
+        while (!closed) {
+            try {
+                Thread.sleep(1000);
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (connected.get() > 0 || queue.isEmpty()) {
+                idleSince = System.nanoTime();
+            } else if (System.nanoTime() - idleSince >= NO_WORKER_TIMEOUT_NANOS) {
+                System.out.println("Farm: tidak ada worker terhubung selama " + NO_WORKER_TIMEOUT_NANOS / 1_000_000_000L
+                        + " detik; " + queue.size() + " unit digagalkan");
+                Unit u;
+                while ((u = queue.pollFirst()) != null) {
+                    u.result.completeExceptionally(new IllegalStateException(
+                            "Unit #" + u.id + " gagal: tidak ada worker farm yang terhubung"));
+                }
+                idleSince = System.nanoTime();
+            }
+        }
+    }
+
+    private void requeue(Unit u, String worker) {
+        if (u.attempts >= MAX_ATTEMPTS) {
+            u.result.completeExceptionally(new IllegalStateException(
+                    "Unit #" + u.id + " gagal " + u.attempts + " kali, terakhir di " + worker));
+            return;
+        }
+        System.out.println("Farm: unit #" + u.id + " diantrekan ulang (percobaan " + u.attempts + ")");
+        queue.addFirst(u);
+    }
+
+    // ===== Job =====
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.out.println("Pemakaian: java [-Dfarm.port=5050] [-Dfarm.localWorkers=N] perbandingan.FarmCoordinator "
+                    + "pso:<file|folder> biasa:<file|folder> contoh[:<folder>] ...");
+            return;
+        }
+        List<Process> workers = new ArrayList<>();
+        try (FarmCoordinator farm = start(PORT)) {
+            System.out.println("Farm: koordinator di " + farm.server.getInetAddress().getHostAddress() + ":" + farm.server.getLocalPort());
+            for (int i = 0; i < LOCAL_WORKERS; i++) {
+                workers.add(spawnLocalWorker(farm.server.getInetAddress(), farm.server.getLocalPort(), farm.token, i));
+            }
+
+            List<Runnable> jobs = new ArrayList<>();
+            for (String spec : args) jobs.addAll(parseJob(spec));
+            if (jobs.isEmpty()) {
+                System.out.println("Farm: tidak ada job untuk dijalankan.");
+                return;
+            }
+            ExecutorService ex = Executors.newFixedThreadPool(jobs.size());
+            List<Future<?>> done = new ArrayList<>();
+            for (Runnable job : jobs) done.add(ex.submit(job));
+            ex.shutdown();
+            for (Future<?> f : done) f.get();
+            System.out.println("Farm: " + jobs.size() + " job selesai, " + farm.nextId.get() + " unit");
+        } catch (Exception e) {
+            System.out.println("Terjadi kesalahan:");
+            e.printStackTrace();
+        }
+        for (Process p : workers) {
+            try {
+                p.waitFor();
+            } catch (InterruptedException e) {
+                p.destroy();
+            }
+        }
+    }
+
+    private static List<Runnable> parseJob(String spec) {
+        int colon = spec.indexOf(':');
+        String algo = colon < 0 ? spec : spec.substring(0, colon);
+        String path = colon < 0 ? null : spec.substring(colon + 1);
+        List<Runnable> jobs = new ArrayList<>();
+        switch (algo) {
+            case "contoh":
+                jobs.add(job(spec, () -> {
+                    if (path == null) baru.ContohCloudsim.main(new String[0]);
+                    else baru.ContohCloudsim.sweepFolder(path);
+                }));
+                break;
+            case "pso":
+            case "biasa":
+                if (path == null) throw new IllegalArgumentException("Job " + algo + " butuh path: " + spec);
+                List<String> files = datasetFiles(path);
+                if (files.isEmpty()) System.out.println("Farm: tidak ada file .txt di " + path + ", job " + spec + " dilewati");
+                for (String file : files) {
+                    String label = pso.deriveDefaultLabel(file);
+                    jobs.add(job(algo + ":" + file, "pso".equals(algo)
+                            ? () -> pso.sweep(file, label)
+                            : () -> Biasa.sweep(file, label)));
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Algoritma tidak dikenal: " + algo + " (pso|biasa|contoh)");
+        }
+        return jobs;
+    }
+
+    private interface Job {
+        void run() throws Exception;
+    }
+
+    private static Runnable job(String name, Job body) {
+        return () -> {
+            try {
+                body.run();
+            } catch (Exception e) {
+                throw new IllegalStateException("Job " + name + " gagal", e);
+            }
+        };
+    }
+
+    private static List<String> datasetFiles(String path) {
+        File f = new File(path);
+        if (!f.isDirectory()) return List.of(path);
+        File[] txt = f.listFiles((d, n) -> n.toLowerCase().endsWith(".txt"));
+        if (txt == null) return List.of();
+        return Arrays.stream(txt).sorted(Comparator.comparing(File::getName)).map(File::getPath).toList();
+    }
+
+    // JVM worker di host ini dengan classpath dan opsi JVM yang sama
+    private static Process spawnLocalWorker(InetAddress bind, int port, String token, int index) throws IOException {
+        List<String> cmd = new ArrayList<>();
+        cmd.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        for (String arg : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+            if (NOT_INHERITED.stream().noneMatch(arg::startsWith)) cmd.add(arg);
+        }
+        cmd.add("-cp");
+        cmd.add(System.getProperty("java.class.path"));
+        cmd.add(FarmWorker.class.getName());
+        cmd.add((bind.isAnyLocalAddress() ? "localhost" : bind.getHostAddress()) + ":" + port);
+        cmd.add("lokal-" + index);
+        ProcessBuilder pb = new ProcessBuilder(cmd);
+        pb.environment().put(FarmWorker.TOKEN_ENV, token); // tidak terlihat di daftar proses seperti -D
+        return pb
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD) // log CloudSim; galat tetap tampil
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+    }
+}
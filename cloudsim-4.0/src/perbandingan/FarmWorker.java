@@ -0,0 +1,112 @@
+package perbandingan;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.net.ConnectException;
+import java.net.Socket;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Proses worker farm: mengambil unit dari {@link FarmCoordinator}, menjalankannya satu per satu
+ * di JVM ini, lalu mengirim hasilnya kembali. Berhenti saat koordinator menutup koneksi.
+ *
+ * Protokol (Java serialization, hanya tipe JDK):
+ *   worker -&gt; koordinator: nama worker (UTF), token (UTF), lalu tiap unit {id} saat diterima dan
+ *                           {id, double[] hasil, String galat} saat selesai
+ *   koordinator -&gt; worker: {id, nama kelas, nama method, Object[] argumen}, atau {} (heartbeat saat
+ *                           antrean kosong, dibalas {})
+ *
+ * Pemakaian: java -Dfarm.token=... perbandingan.FarmWorker [host:port] [nama]   (bawaan localhost:5050, nama = pid@host)
+ * Path dataset dibaca relatif terhadap direktori kerja worker.
+ */
+public final class FarmWorker {
+
+    // pesan hanya boleh berisi String/angka/array; kelas lain ditolak sebelum dibuat
+    static final ObjectInputFilter MESSAGE_FILTER =
+            ObjectInputFilter.Config.createFilter("maxdepth=4;java.lang.*;[D;[Ljava.lang.Object;;!*");
+
+    private static final int CONNECT_RETRIES = Integer.getInteger("farm.connectRetries", 30);
+    // token untuk worker lokal yang dijalankan koordinator (lihat FarmCoordinator)
+    static final String TOKEN_ENV = "SOKA_FARM_TOKEN";
+
+    private FarmWorker() {}
+
+    public static void main(String[] args) throws Exception {
+        String target = args.length > 0 ? args[0] : "localhost:5050";
+        String name = args.length > 1 ? args[1] : ManagementFactory.getRuntimeMXBean().getName();
+        int colon = target.lastIndexOf(':');
+        String host = target.substring(0, colon);
+        int port = Integer.parseInt(target.substring(colon + 1));
+
+        try (Socket socket = connect(host, port);
+             ObjectOutputStream out = new ObjectOutputStream(socket.getOutputStream())) {
+            out.writeUTF(name);
+            String token = token();
+            out.writeUTF(token == null ? "" : token);
+            out.flush();
+            ObjectInputStream in = new ObjectInputStream(socket.getInputStream());
+            in.setObjectInputFilter(MESSAGE_FILTER);
+
+            Map<String, Method> methods = new HashMap<>();
+            int done = 0;
+            while (true) {
+                Object[] unit;
+                try {
+                    unit = (Object[]) in.readObject();
+                } catch (EOFException | java.net.SocketException e) {
+                    break; // koordinator selesai
+                }
+                if (unit.length == 0) { // heartbeat
+                    out.writeObject(unit);
+                    out.flush();
+                    continue;
+                }
+                Long id = (Long) unit[0];
+                out.writeObject(new Object[]{id}); // diterima; baru sekarang dihitung sebagai percobaan
+                out.flush();
+                double[] result = null;
+                String error = null;
+                try {
+                    String key = unit[1] + "#" + unit[2];
+                    Method m = methods.get(key);
+                    if (m == null) {
+                        m = SweepExecutor.find(Class.forName((String) unit[1]), (String) unit[2]);
+                        methods.put(key, m);
+                    }
+                    result = SweepExecutor.invoke(m, (Object[]) unit[3]);
+                } catch (Exception e) {
+                    error = e.toString();
+                }
+                out.writeObject(new Object[]{id, result, error});
+                out.flush();
+                out.reset();
+                done++;
+            }
+            System.err.println("Worker " + name + ": " + done + " unit selesai");
+        }
+    }
+
+    /** Token bersama dari -Dfarm.token, atau dari environment yang diisi koordinator; null jika tidak ada. */
+    static String token() {
+        String t = System.getProperty("farm.token");
+        return t != null ? t : System.getenv(TOKEN_ENV);
+    }
+
+    // koordinator boleh dijalankan belakangan
+    private static Socket connect(String host, int port) throws IOException, InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return new Socket(host, port);
+            } catch (ConnectException e) {
+                if (attempt >= CONNECT_RETRIES) throw e;
+                Thread.sleep(1000);
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package perbandingan;
+
+/**
+ * Penjadwal konstruktif cepat di balik {@link CloudletMapper}.
+ *
+ * Dengan ETC konsisten (waktu = MI / MIPS), cloudlet dengan waktu selesai minimum terkecil
+ * selalu cloudlet terpendek, sehingga Min-Min = urut menaik + VM dengan waktu selesai paling
+ * awal (ECT), dan Max-Min = urut menurun + ECT. LPT = urut menurun + VM dengan beban terkecil.
+ * Urutan memakai radix sort indeks (O(n)), pemilihan VM memakai heap berindeks (O(log m)
+ * untuk LPT / greedy; ECT menelusuri heap dengan pemangkasan), jadi total O(n log m).
+ */
+final class HeuristicMappers {
+
+    private HeuristicMappers() {}
+
+    static final class RoundRobin implements CloudletMapper {
+        @Override
+        public int[] map(long[] lengths, double[] vmMips) {
+            int[] out = new int[lengths.length];
+            for (int i = 0; i < out.length; i++) out[i] = i % vmMips.length;
+            return out;
+        }
+
+        @Override
+        public String name() {
+            return "rr";
+        }
+    }
+
+    static final class Lpt implements CloudletMapper {
+        @Override
+        public int[] map(long[] lengths, double[] vmMips) {
+            return leastLoaded(lengths, vmMips, sortedIndices(lengths, true));
+        }
+
+        @Override
+        public String name() {
+            return "lpt";
+        }
+    }
+
+    /** Greedy beban minimum: cloudlet dalam urutan datang, masing-masing ke VM dengan waktu beban terkecil. */
+    static final class Greedy implements CloudletMapper {
+        @Override
+        public int[] map(long[] lengths, double[] vmMips) {
+            int[] order = new int[lengths.length];
+            for (int i = 0; i < order.length; i++) order[i] = i;
+            return leastLoaded(lengths, vmMips, order);
+        }
+
+        @Override
+        public String name() {
+            return "greedy";
+        }
+    }
+
+    static final class MinMin implements CloudletMapper {
+        @Override
+        public int[] map(long[] lengths, double[] vmMips) {
+            return earliestCompletion(lengths, vmMips, sortedIndices(lengths, false));
+        }
+
+        @Override
+        public String name() {
+            return "minmin";
+        }
+    }
+
+    static final class MaxMin implements CloudletMapper {
+        @Override
+        public int[] map(long[] lengths, double[] vmMips) {
+            return earliestCompletion(lengths, vmMips, sortedIndices(lengths, true));
+        }
+
+        @Override
+        public String name() {
+            return "maxmin";
+        }
+    }
+
+    // Tiap cloudlet (sesuai urutan) ke VM dengan waktu beban (MI / MIPS) terkecil saat itu.
+    static int[] leastLoaded(long[] lengths, double[] vmMips, int[] order) {
+        int m = vmMips.length;
+        int[] out = new int[lengths.length];
+        long[] mi = new long[m];
+        IndexedHeap least = new IndexedHeap(m, false);
+        least.build(new double[m]);
+        for (int c : order) {
+            int v = least.top();
+            mi[v] += lengths[c];
+            least.update(v, mi[v] / vmMips[v]);
+            out[c] = v;
+        }
+        return out;
+    }
+
+    // Tiap cloudlet (sesuai urutan) ke VM dengan waktu selesai paling awal.
+    // Heap-min atas waktu siap VM ditelusuri dari akar; subpohon dipangkas jika
+    // waktu siap + len / MIPS tercepat sudah tidak bisa mengalahkan kandidat terbaik.
+    static int[] earliestCompletion(long[] lengths, double[] vmMips, int[] order) {
+        int m = vmMips.length;
+        double maxMips = 0;
+        for (double mips : vmMips) maxMips = Math.max(maxMips, mips);
+
+        int[] out = new int[lengths.length];
+        long[] mi = new long[m];
+        IndexedHeap ready = new IndexedHeap(m, false);
+        ready.build(new double[m]);
+        int[] stack = new int[m];
+
+        for (int c : order) {
+            long len = lengths[c];
+            double bound = len / maxMips;
+            int best = -1;
+            double bestT = Double.POSITIVE_INFINITY;
+            int sp = 0;
+            stack[sp++] = 0;
+            while (sp > 0) {
+                int s = stack[--sp];
+                int v = ready.at(s);
+                if (ready.key(v) + bound > bestT) continue;
+                double t = (mi[v] + len) / vmMips[v];
+                if (t < bestT || (t == bestT && v < best)) { bestT = t; best = v; }
+                int child = 2 * s + 1;
+                if (child < m) stack[sp++] = child;
+                if (child + 1 < m) stack[sp++] = child + 1;
+            }
+            mi[best] += len;
+            ready.update(best, mi[best] / vmMips[best]);
+            out[c] = best;
+        }
+        return out;
+    }
+
+    /** Indeks cloudlet terurut panjang (LSD radix sort stabil, seri tetap urut indeks). */
+    static int[] sortedIndices(long[] lengths, boolean descending) {
+        int n = lengths.length;
+        long[] keys = new long[n];
+        int[] idx = new int[n];
+        for (int i = 0; i < n; i++) {
+            long k = lengths[i] ^ Long.MIN_VALUE; // urutan bertanda -> tak bertanda
+            keys[i] = descending ? ~k : k;
+            idx[i] = i;
+        }
+        long[] keys2 = new long[n];
+        int[] idx2 = new int[n];
+        int[] count = new int[257];
+        for (int shift = 0; shift < 64; shift += 8) {
+            java.util.Arrays.fill(count, 0);
+            for (int i = 0; i < n; i++) count[(int) ((keys[i] >>> shift) & 0xFF) + 1]++;
+            if (n == 0 || count[(int) ((keys[0] >>> shift) & 0xFF) + 1] == n) continue; // byte ini seragam
+            for (int b = 0; b < 256; b++) count[b + 1] += count[b];
+            for (int i = 0; i < n; i++) {
+                int dst = count[(int) ((keys[i] >>> shift) & 0xFF)]++;
+                keys2[dst] = keys[i];
+                idx2[dst] = idx[i];
+            }
+            long[] tk = keys; keys = keys2; keys2 = tk;
+            int[] ti = idx; idx = idx2; idx2 = ti;
+        }
+        return idx;
+    }
+}
@@ -0,0 +1,93 @@
+package perbandingan;
+
+/**
+ * Heap biner berindeks atas elemen 0..size-1 dengan kunci double yang bisa diubah.
+ * Posisi tiap elemen dicatat sehingga ubah kunci O(log size) dan top() O(1).
+ * Urutan maks atau min dipilih saat konstruksi; seri dipecah dengan indeks terkecil.
+ */
+final class IndexedHeap {
+
+    private final boolean max;
+    private final double[] key;
+    private final int[] heap; // heap[slot] = elemen
+    private final int[] slot; // slot[elemen] = posisi di heap
+
+    IndexedHeap(int size, boolean max) {
+        this.max = max;
+        key = new double[size];
+        heap = new int[size];
+        slot = new int[size];
+        for (int i = 0; i < size; i++) { heap[i] = i; slot[i] = i; }
+    }
+
+    /** Isi ulang semua kunci sekaligus, O(size). */
+    void build(double[] keys) {
+        System.arraycopy(keys, 0, key, 0, key.length);
+        for (int i = 0; i < heap.length; i++) { heap[i] = i; slot[i] = i; }
+        for (int i = heap.length / 2 - 1; i >= 0; i--) down(i);
+    }
+
+    int top() {
+        return heap[0];
+    }
+
+    double key(int e) {
+        return key[e];
+    }
+
+    /** Elemen pada posisi heap ke-s (0 = top), untuk menelusuri kandidat teratas. */
+    int at(int s) {
+        return heap[s];
+    }
+
+    int size() {
+        return heap.length;
+    }
+
+    void update(int e, double k) {
+        double old = key[e];
+        key[e] = k;
+        int s = slot[e];
+        if (before(e, old, k)) up(s); else down(s);
+    }
+
+    // true jika kunci baru lebih dekat ke top dibanding kunci lama
+    private boolean before(int e, double oldKey, double newKey) {
+        return max ? newKey > oldKey : newKey < oldKey;
+    }
+
+    private boolean higher(int a, int b) {
+        if (key[a] != key[b]) return max ? key[a] > key[b] : key[a] < key[b];
+        return a < b;
+    }
+
+    private void up(int s) {
+        int e = heap[s];
+        while (s > 0) {
+            int parent = (s - 1) >>> 1;
+            if (!higher(e, heap[parent])) break;
+            place(heap[parent], s);
+            s = parent;
+        }
+        place(e, s);
+    }
+
+    private void down(int s) {
+        int e = heap[s];
+        int n = heap.length;
+        while (true) {
+            int c = 2 * s + 1;
+            if (c >= n) break;
+            if (c + 1 < n && higher(heap[c + 1], heap[c])) c++;
+            if (!higher(heap[c], e)) break;
+            place(heap[c], s);
+            s = c;
+        }
+        place(e, s);
+    }
+
+    private void place(int e, int s) {
+        heap[s] = e;
+        slot[e] = s;
+    }
+}
@@ -0,0 +1,174 @@
+package perbandingan;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * PSO model pulau: K swarm independen (masing-masing gbest sendiri) berjalan di thread
+ * terpisah; tiap M iterasi S pbest terbaik tiap pulau bermigrasi ke pulau berikutnya
+ * pada cincin dan menggantikan S partikel terburuk di sana.
+ *
+ * Pulau hanya bersinkron di batas migrasi dan migrasi dilakukan berurutan, sehingga
+ * hasil untuk seed yang sama tidak bergantung jumlah thread.
+ */
+final class IslandModel {
+
+    final int islands;
+    final int migrationInterval;
+    final int migrants;
+
+    IslandModel(int islands, int migrationInterval, int migrants) {
+        if (islands < 1 || migrationInterval < 1 || migrants < 0) {
+            throw new IllegalArgumentException("Parameter pulau tidak valid: K=" + islands
+                    + ", M=" + migrationInterval + ", S=" + migrants);
+        }
+        this.islands = islands;
+        this.migrationInterval = migrationInterval;
+        this.migrants = migrants;
+    }
+
+    /** Hasil gabungan plus riwayat gbest tiap pulau di setiap batas epoch. */
+    static final class Result {
+        final PsoResult best;
+        final int bestIsland;
+        final List<Integer> epochIterations = new ArrayList<>();
+        final List<double[]> history = new ArrayList<>();
+
+        Result(PsoResult best, int bestIsland) {
+            this.best = best;
+            this.bestIsland = bestIsland;
+        }
+
+        String convergenceTable() {
+            StringBuilder sb = new StringBuilder("Iterasi");
+            int k = history.isEmpty() ? 0 : history.get(0).length;
+            for (int i = 0; i < k; i++) sb.append(",Pulau").append(i);
+            sb.append('\n');
+            for (int e = 0; e < history.size(); e++) {
+                sb.append(epochIterations.get(e));
+                for (double v : history.get(e)) sb.append(String.format(Locale.US, ",%.4f", v));
+                sb.append('\n');
+            }
+            return sb.toString();
+        }
+    }
+
+    Result run(long[] lengths, double[] vmMips, int particlesPerIsland, PsoRandom root,
+               UpdateKernel kernel, TerminationPolicy stop, int threads) throws InterruptedException {
+        return run(lengths, vmMips, particlesPerIsland, root, kernel, stop, threads, new int[0][]);
+    }
+
+    /** Seed ke-j (lihat {@link SwarmSeeding}) masuk ke pulau j mod K agar pulau tetap beragam. */
+    Result run(long[] lengths, double[] vmMips, int particlesPerIsland, PsoRandom root,
+               UpdateKernel kernel, TerminationPolicy stop, int threads, int[][] seeds) throws InterruptedException {
+        if (migrants > particlesPerIsland) {
+            throw new IllegalArgumentException("Jumlah migran melebihi partikel per pulau: " + migrants);
+        }
+        TerminationPolicy.Run run = stop.start(TerminationPolicy.lowerBound(lengths, vmMips));
+
+        Swarm[] swarms = new Swarm[islands];
+        for (int k = 0; k < islands; k++) {
+            swarms[k] = new Swarm(lengths, vmMips, particlesPerIsland, root.split(), kernel);
+        }
+        int[][][] islandSeeds = new int[islands][][];
+        for (int k = 0; k < islands; k++) {
+            List<int[]> mine = new ArrayList<>();
+            for (int j = k; j < seeds.length; j += islands) mine.add(seeds[j]);
+            islandSeeds[k] = mine.toArray(new int[0][]);
+        }
+
+        List<double[]> history = new ArrayList<>();
+        List<Integer> epochIterations = new ArrayList<>();
+        ExecutorService ex = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, islands)));
+        TerminationPolicy.Reason reason;
+        try {
+            runAll(ex, swarms, islandSeeds, 0);
+            record(swarms, history, epochIterations, 0);
+            reason = run.initial(swarms[bestIsland(swarms)].gbestValue());
+            while (reason == null) {
+                int steps = Math.min(migrationInterval, stop.maxIterations - run.iterations());
+                runAll(ex, swarms, islandSeeds, steps);
+                reason = run.after(swarms[bestIsland(swarms)].gbestValue(), steps);
+                record(swarms, history, epochIterations, run.iterations());
+                if (reason == null) migrate(swarms);
+            }
+        } finally {
+            ex.shutdown();
+        }
+
+        int b = bestIsland(swarms);
+        Result r = new Result(run.finish(swarms[b].gbestMapping(), swarms[b].gbestValue(), reason), b);
+        r.history.addAll(history);
+        r.epochIterations.addAll(epochIterations);
+        return r;
+    }
+
+    // steps = 0 berarti inisialisasi
+    private static void runAll(ExecutorService ex, Swarm[] swarms, int[][][] seeds, int steps) throws InterruptedException {
+        List<Callable<Void>> tasks = new ArrayList<>(swarms.length);
+        for (int k = 0; k < swarms.length; k++) {
+            Swarm s = swarms[k];
+            int[][] mine = seeds[k];
+            tasks.add(() -> {
+                if (steps == 0) s.init(mine);
+                for (int it = 0; it < steps; it++) s.iterate();
+                return null;
+            });
+        }
+        for (Future<Void> f : ex.invokeAll(tasks)) {
+            try {
+                f.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Pulau PSO gagal", e.getCause());
+            }
+        }
+    }
+
+    // cincin: pulau k -> k+1; semua migran diambil dulu sebelum ada yang diganti
+    private void migrate(Swarm[] swarms) {
+        if (islands < 2 || migrants == 0) return;
+        int[][][] outgoing = new int[islands][][];
+        for (int k = 0; k < islands; k++) {
+            int[] order = rank(swarms[k]);
+            outgoing[k] = new int[migrants][];
+            for (int s = 0; s < migrants; s++) outgoing[k][s] = swarms[k].pbestMapping(order[s]);
+        }
+        for (int k = 0; k < islands; k++) {
+            Swarm dst = swarms[(k + 1) % islands];
+            int[] order = rank(dst);
+            for (int s = 0; s < migrants; s++) dst.replaceParticle(order[order.length - 1 - s], outgoing[k][s]);
+        }
+    }
+
+    // indeks partikel terurut pbest menaik, seri diurutkan indeks
+    private static int[] rank(Swarm s) {
+        Integer[] idx = new Integer[s.particles()];
+        for (int p = 0; p < idx.length; p++) idx[p] = p;
+        java.util.Arrays.sort(idx, (a, b) -> {
+            int c = Double.compare(s.pbestValue(a), s.pbestValue(b));
+            return c != 0 ? c : Integer.compare(a, b);
+        });
+        int[] out = new int[idx.length];
+        for (int p = 0; p < out.length; p++) out[p] = idx[p];
+        return out;
+    }
+
+    private static int bestIsland(Swarm[] swarms) {
+        int b = 0;
+        for (int k = 1; k < swarms.length; k++) if (swarms[k].gbestValue() < swarms[b].gbestValue()) b = k;
+        return b;
+    }
+
+    private static void record(Swarm[] swarms, List<double[]> history, List<Integer> iters, int iteration) {
+        double[] row = new double[swarms.length];
+        for (int k = 0; k < swarms.length; k++) row[k] = swarms[k].gbestValue();
+        history.add(row);
+        iters.add(iteration);
+    }
+}
@@ -0,0 +1,180 @@
+package perbandingan;
+
+import java.util.Arrays;
+
+/**
+ * Pencarian lokal first-improvement untuk menurunkan makespan estimasi sebuah pemetaan.
+ *
+ * Selalu bekerja pada VM dengan beban maksimum: pindahkan satu cloudlet darinya ke VM
+ * dengan beban minimum, atau tukar dengan cloudlet yang lebih kecil di VM itu, selama
+ * kedua VM tetap di bawah makespan saat ini. Tanpa evaluasi ulang penuh:
+ * <ul>
+ *   <li>beban VM di heap maks & min berindeks: VM maksimum/minimum O(1), perbarui O(log m);</li>
+ *   <li>cloudlet per VM urut menurut panjang: cloudlet terbesar yang muat dipindah dicari dengan
+ *       pencarian biner, O(log k); untuk tukar, tiap cloudlet c di VM maksimum mencari pasangan
+ *       terbesar yang lebih kecil dari c dengan pencarian biner, O(k log k) per langkah;</li>
+ *   <li>menyisipkan/menghapus cloudlet di daftar urut menggeser array, O(k).</li>
+ * </ul>
+ * (k = jumlah cloudlet di VM terkait.) Makespan dihitung sama persis dengan {@link pso#evalMakespan}.
+ *
+ * Instance memakai buffer internal (tidak thread-safe) dan bisa dipakai ulang.
+ */
+final class LocalSearch {
+
+    private final long[] lengths;
+    private final double[] vmMips;
+    private final int m;
+    private final int maxSteps;
+
+    private final long[] mi;
+    private final double[] times;
+    private final int[][] members; // cloudlet per VM, urut naik menurut rank
+    private final int[] count;
+    private final int[] byLength;  // semua cloudlet urut (panjang, indeks)
+    private final int[] rank;      // posisi cloudlet di byLength; urutan members
+    private final IndexedHeap maxHeap;
+    private final IndexedHeap minHeap;
+
+    private int moves;
+    private int swaps;
+
+    LocalSearch(long[] lengths, double[] vmMips, int maxSteps) {
+        this.lengths = lengths;
+        this.vmMips = vmMips;
+        this.m = vmMips.length;
+        this.maxSteps = maxSteps;
+        mi = new long[m];
+        times = new double[m];
+        members = new int[m][16];
+        count = new int[m];
+        Integer[] order = new Integer[lengths.length];
+        for (int c = 0; c < order.length; c++) order[c] = c;
+        Arrays.sort(order, (a, b) -> a.equals(b) ? 0
+                : lengths[a] != lengths[b] ? Long.compare(lengths[a], lengths[b]) : Integer.compare(a, b));
+        byLength = new int[order.length];
+        rank = new int[order.length];
+        for (int r = 0; r < order.length; r++) {
+            byLength[r] = order[r];
+            rank[order[r]] = r;
+        }
+        maxHeap = new IndexedHeap(m, true);
+        minHeap = new IndexedHeap(m, false);
+    }
+
+    /**
+     * Perbaiki {@code assign} in-place.
+     *
+     * @return makespan estimasi setelah pencarian lokal
+     */
+    double improve(int[] assign) {
+        load(assign);
+        moves = 0;
+        swaps = 0;
+        while (moves + swaps < maxSteps) {
+            int hi = maxHeap.top();
+            if (!step(assign, hi, times[hi])) break;
+        }
+        return times[maxHeap.top()];
+    }
+
+    int moves() {
+        return moves;
+    }
+
+    int swaps() {
+        return swaps;
+    }
+
+    private void load(int[] assign) {
+        Arrays.fill(mi, 0L);
+        Arrays.fill(count, 0);
+        for (int c : byLength) { // urutan global, jadi tiap daftar VM langsung urut
+            int v = assign[c];
+            mi[v] += lengths[c];
+            if (count[v] == members[v].length) members[v] = Arrays.copyOf(members[v], count[v] * 2);
+            members[v][count[v]++] = c;
+        }
+        for (int v = 0; v < m; v++) times[v] = mi[v] / vmMips[v];
+        maxHeap.build(times);
+        minHeap.build(times);
+    }
+
+    private boolean step(int[] assign, int hi, double cur) {
+        int lo = minHeap.top();
+        if (lo == hi) return false;
+        int[] onHi = members[hi];
+
+        // pindah: cloudlet terbesar di VM maksimum yang muat di VM minimum tanpa melewati makespan
+        // (syarat muat menurun terhadap panjang, jadi batasnya dicari biner)
+        int a = 0, b = count[hi]; // onHi[0..a) muat
+        while (a < b) {
+            int mid = (a + b) >>> 1;
+            if ((mi[lo] + lengths[onHi[mid]]) / vmMips[lo] < cur) a = mid + 1;
+            else b = mid;
+        }
+        if (a > 0 && lengths[onHi[a - 1]] > 0) {
+            relocate(assign, onHi[a - 1], hi, lo);
+            moves++;
+            return true;
+        }
+
+        // tukar: cloudlet c di VM maksimum dengan d terbesar yang lebih kecil di VM minimum;
+        // selisih terkecil paling mungkin tetap di bawah makespan di VM minimum
+        int[] onLo = members[lo];
+        for (int k = 0; k < count[hi]; k++) {
+            int c = onHi[k];
+            long lc = lengths[c];
+            int lo0 = 0, hi0 = count[lo]; // onLo[0..lo0) lebih kecil dari c
+            while (lo0 < hi0) {
+                int mid = (lo0 + hi0) >>> 1;
+                if (lengths[onLo[mid]] < lc) lo0 = mid + 1;
+                else hi0 = mid;
+            }
+            if (lo0 == 0) continue;
+            int d = onLo[lo0 - 1];
+            long ld = lengths[d];
+            if ((mi[hi] - lc + ld) / vmMips[hi] < cur && (mi[lo] - ld + lc) / vmMips[lo] < cur) {
+                relocate(assign, c, hi, lo);
+                relocate(assign, d, lo, hi);
+                swaps++;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void relocate(int[] assign, int c, int from, int to) {
+        int[] src = members[from];
+        int s = position(src, count[from], rank[c]);
+        System.arraycopy(src, s + 1, src, s, --count[from] - s);
+        if (count[to] == members[to].length) members[to] = Arrays.copyOf(members[to], count[to] * 2);
+        int[] dst = members[to];
+        int t = position(dst, count[to], rank[c]);
+        System.arraycopy(dst, t, dst, t + 1, count[to]++ - t);
+        dst[t] = c;
+        assign[c] = to;
+
+        long len = lengths[c];
+        mi[from] -= len;
+        mi[to] += len;
+        refresh(from);
+        refresh(to);
+    }
+
+    // posisi pertama di list[0..n) dengan rank >= r
+    private int position(int[] list, int n, int r) {
+        int a = 0, b = n;
+        while (a < b) {
+            int mid = (a + b) >>> 1;
+            if (rank[list[mid]] < r) a = mid + 1;
+            else b = mid;
+        }
+        return a;
+    }
+
+    private void refresh(int v) {
+        times[v] = mi[v] / vmMips[v];
+        maxHeap.update(v, times[v]);
+        minHeap.update(v, times[v]);
+    }
+}
@@ -0,0 +1,75 @@
+package perbandingan;
+
+/**
+ * Evaluasi makespan penuh (semua cloudlet) untuk satu dataset & himpunan VM, dengan
+ * data turunan yang dihitung sekali per percobaan. Hanya untuk diagnostik
+ * ({@code DiagnostikPso evaluator}); jalur percobaan tetap memakai {@link pso#evalMakespan}.
+ *
+ * "scalar" sama persis dengan {@link pso#evalMakespan}. "vector" memakai
+ * jdk.incubator.vector (kelas perbandingan.VectorMakespan di src-vector, dimuat jika
+ * JVM dijalankan dengan --add-modules jdk.incubator.vector) dan kembali ke scalar jika
+ * tidak tersedia. Keduanya diukur oleh EvaluatorBench di modul benchmarks. Toleransi vector: identik selama total MI < 2^53 (MI dijumlah sebagai
+ * double tanpa pembulatan), di atas itu selisih relatif maksimal 2^-52 per VM.
+ *
+ * Instance tidak thread-safe (memakai buffer internal).
+ */
+abstract class MakespanEvaluator {
+
+    private static volatile boolean fallbackReported;
+
+    final long[] lengths;
+    final double[] vmMips;
+
+    MakespanEvaluator(long[] lengths, double[] vmMips) {
+        this.lengths = lengths;
+        this.vmMips = vmMips;
+    }
+
+    abstract double makespan(int[] assign);
+
+    abstract String name();
+
+    static MakespanEvaluator create(String kind, long[] lengths, double[] vmMips) {
+        if ("vector".equals(kind)) {
+            try {
+                Class<?> c = Class.forName("perbandingan.VectorMakespan");
+                return (MakespanEvaluator) c.getDeclaredConstructor(long[].class, double[].class)
+                        .newInstance(lengths, vmMips);
+            } catch (ReflectiveOperationException | LinkageError e) {
+                if (!fallbackReported) {
+                    fallbackReported = true;
+                    System.err.println("Vector API tidak tersedia (" + e + "), memakai evaluator scalar.");
+                }
+            }
+        } else if (!"scalar".equals(kind)) {
+            throw new IllegalArgumentException("Evaluator tidak dikenal: " + kind);
+        }
+        return new Scalar(lengths, vmMips);
+    }
+
+    static final class Scalar extends MakespanEvaluator {
+        private final long[] mi;
+
+        Scalar(long[] lengths, double[] vmMips) {
+            super(lengths, vmMips);
+            mi = new long[vmMips.length];
+        }
+
+        @Override
+        double makespan(int[] assign) {
+            java.util.Arrays.fill(mi, 0L);
+            for (int i = 0; i < lengths.length; i++) mi[assign[i]] += lengths[i];
+            double max = 0;
+            for (int v = 0; v < mi.length; v++) {
+                double t = mi[v] / vmMips[v];
+                if (t > max) max = t;
+            }
+            return max;
+        }
+
+        @Override
+        String name() {
+            return "scalar";
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package perbandingan;
+
+/**
+ * Fitness inkremental untuk satu partikel PSO: menyimpan total MI per VM dan
+ * indeks VM dengan beban maksimum, sehingga perpindahan satu cloudlet cukup
+ * diperbarui O(1) (rescan O(m) hanya jika VM maksimum berkurang).
+ *
+ * Nilai makespan() identik bit-per-bit dengan {@link pso#evalMakespan} karena
+ * keduanya menghitung waktu VM sebagai (total MI eksak) / MIPS.
+ */
+final class MakespanTracker {
+
+    private final long[] lengths;
+    private final double[] vmMips;
+    private final long[] miPerVm;
+    private int maxVm;
+    private boolean dirty;
+
+    MakespanTracker(long[] lengths, double[] vmMips) {
+        this.lengths = lengths;
+        this.vmMips = vmMips;
+        this.miPerVm = new long[vmMips.length];
+    }
+
+    /** Hitung ulang penuh dari pemetaan (dipakai saat inisialisasi). */
+    void reset(int[] assign) {
+        java.util.Arrays.fill(miPerVm, 0L);
+        for (int i = 0; i < lengths.length; i++) miPerVm[assign[i]] += lengths[i];
+        rescan();
+    }
+
+    void reset(PositionStore pos, int row) {
+        java.util.Arrays.fill(miPerVm, 0L);
+        for (int i = 0; i < lengths.length; i++) miPerVm[pos.get(row, i)] += lengths[i];
+        rescan();
+    }
+
+    /** Pindahkan cloudlet i dari VM {@code from} ke VM {@code to}. */
+    void move(int i, int from, int to) {
+        if (from == to) return;
+        long len = lengths[i];
+        miPerVm[from] -= len;
+        if (from == maxVm) dirty = true;
+        miPerVm[to] += len;
+        if (!dirty && time(to) > time(maxVm)) maxVm = to;
+    }
+
+    double makespan() {
+        if (dirty) rescan();
+        return time(maxVm);
+    }
+
+    void copyFrom(MakespanTracker o) {
+        System.arraycopy(o.miPerVm, 0, miPerVm, 0, miPerVm.length);
+        maxVm = o.maxVm;
+        dirty = o.dirty;
+    }
+
+    private double time(int v) {
+        return miPerVm[v] / vmMips[v];
+    }
+
+    private void rescan() {
+        int idx = 0;
+        double max = 0;
+        for (int v = 0; v < miPerVm.length; v++) {
+            double t = time(v);
+            if (t > max) { max = t; idx = v; }
+        }
+        maxVm = idx;
+        dirty = false;
+    }
+}
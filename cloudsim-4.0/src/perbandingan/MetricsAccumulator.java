@@ -0,0 +1,264 @@
+package perbandingan;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+import org.cloudbus.cloudsim.Cloudlet;
+
+/**
+ * Akumulator metrik satu run dalam satu lintasan atas cloudlet yang selesai, tanpa menyimpan
+ * cloudlet dan tanpa alokasi per cloudlet: beban per VM disimpan di array primitif berindeks id VM
+ * (pengganti Map&lt;Integer, Double&gt;), waktu tunggu/eksekusi/selesai masuk histogram log untuk
+ * persentil p50/p95/p99.
+ *
+ * Histogram: bucket per eksponen biner dibagi 2^SUB_BITS sub-bucket, jadi galat relatif persentil
+ * paling besar ~0,8% (nilai tengah bucket, dipotong ke min/maks yang teramati). Nilai &lt;= 0 punya
+ * bucket sendiri dan dilaporkan 0.
+ *
+ * Rata-rata dan simpangan antar percobaan dihitung dengan {@link Trials} (Welford), juga tanpa
+ * menyimpan baris tiap percobaan.
+ */
+public final class MetricsAccumulator {
+
+    /** Kolom persentil, ditambahkan di belakang baris metrik tiap algoritma. */
+    public static final String[] PERCENTILE_COLUMNS = {
+            "WaitP50", "WaitP95", "WaitP99",
+            "ExecP50", "ExecP95", "ExecP99",
+            "FinishP50", "FinishP95", "FinishP99"
+    };
+    public static final int PERCENTILES = PERCENTILE_COLUMNS.length;
+
+    /** columns diikuti PERCENTILE_COLUMNS. */
+    public static String[] withPercentiles(String[] columns) {
+        String[] all = Arrays.copyOf(columns, columns.length + PERCENTILES);
+        System.arraycopy(PERCENTILE_COLUMNS, 0, all, columns.length, PERCENTILES);
+        return all;
+    }
+
+    private long n;
+    private double sumStart, sumExec, sumFinish, sumWait, sumLength;
+    private double minStart = Double.POSITIVE_INFINITY, minSubmit = Double.POSITIVE_INFINITY;
+    private double maxFinish = Double.NEGATIVE_INFINITY;
+
+    // per id VM; present = VM terdaftar atau menerima cloudlet
+    private double[] workPerVm;
+    private double[] execPerVm;
+    private boolean[] present;
+
+    private final LogHistogram wait = new LogHistogram();
+    private final LogHistogram exec = new LogHistogram();
+    private final LogHistogram finish = new LogHistogram();
+
+    /** vmCapacity = perkiraan id VM terbesar + 1; array diperbesar bila ada id di luarnya. */
+    public MetricsAccumulator(int vmCapacity) {
+        int cap = Math.max(1, vmCapacity);
+        workPerVm = new double[cap];
+        execPerVm = new double[cap];
+        present = new boolean[cap];
+    }
+
+    /** Pakai ulang akumulator untuk run berikutnya. */
+    public void reset() {
+        n = 0;
+        sumStart = sumExec = sumFinish = sumWait = sumLength = 0;
+        minStart = minSubmit = Double.POSITIVE_INFINITY;
+        maxFinish = Double.NEGATIVE_INFINITY;
+        Arrays.fill(workPerVm, 0);
+        Arrays.fill(execPerVm, 0);
+        Arrays.fill(present, false);
+        wait.reset();
+        exec.reset();
+        finish.reset();
+    }
+
+    /** Ikutkan VM dalam imbalance walau tidak menerima cloudlet (beban 0). */
+    public void registerVm(int vmId) {
+        ensureVm(vmId);
+        present[vmId] = true;
+    }
+
+    public void add(Cloudlet c) {
+        add(c.getSubmissionTime(), c.getExecStartTime(), c.getFinishTime(), c.getActualCPUTime(),
+                c.getWaitingTime(), c.getCloudletLength(), c.getVmId());
+    }
+
+    public void add(double submit, double start, double finishTime, double cpu, double waitTime, long length, int vmId) {
+        n++;
+        sumStart += start;
+        sumExec += cpu;
+        sumFinish += finishTime;
+        sumWait += waitTime;
+        sumLength += length;
+        if (submit < minSubmit) minSubmit = submit;
+        if (start < minStart) minStart = start;
+        if (finishTime > maxFinish) maxFinish = finishTime;
+
+        ensureVm(vmId);
+        present[vmId] = true;
+        workPerVm[vmId] += length;
+        execPerVm[vmId] += cpu;
+
+        wait.record(waitTime);
+        exec.record(cpu);
+        finish.record(finishTime);
+    }
+
+    private void ensureVm(int vmId) {
+        if (vmId < workPerVm.length) return;
+        int cap = Math.max(vmId + 1, workPerVm.length * 2);
+        workPerVm = Arrays.copyOf(workPerVm, cap);
+        execPerVm = Arrays.copyOf(execPerVm, cap);
+        present = Arrays.copyOf(present, cap);
+    }
+
+    // ===== Hasil =====
+    public long count() { return n; }
+    public double sumStart() { return sumStart; }
+    public double sumExec() { return sumExec; }
+    public double sumFinish() { return sumFinish; }
+    public double sumWait() { return sumWait; }
+    /** Total MI cloudlet selesai. */
+    public double sumLength() { return sumLength; }
+    public double minStart() { return minStart; }
+    public double minSubmit() { return minSubmit; }
+    public double maxFinish() { return maxFinish; }
+
+    /** (maks - min) / maks dari MI per VM (definisi pso/Biasa). */
+    public double workImbalance() {
+        double maxLoad = 0, minLoad = Double.POSITIVE_INFINITY;
+        for (int id = 0; id < present.length; id++) {
+            if (!present[id]) continue;
+            maxLoad = Math.max(maxLoad, workPerVm[id]);
+            minLoad = Math.min(minLoad, workPerVm[id]);
+        }
+        return (maxLoad == 0) ? 0 : (maxLoad - minLoad) / maxLoad;
+    }
+
+    /** (maks - min) / rata-rata dari waktu eksekusi per VM (definisi ContohCloudsim). */
+    public double execImbalance() {
+        double minVm = Double.POSITIVE_INFINITY, maxVm = Double.NEGATIVE_INFINITY, sumVm = 0.0;
+        int vms = 0;
+        for (int id = 0; id < present.length; id++) {
+            if (!present[id]) continue;
+            minVm = Math.min(minVm, execPerVm[id]);
+            maxVm = Math.max(maxVm, execPerVm[id]);
+            sumVm += execPerVm[id];
+            vms++;
+        }
+        double avgVm = (vms == 0) ? 0.0 : sumVm / vms;
+        return (avgVm > 0) ? (maxVm - minVm) / avgVm : 0.0;
+    }
+
+    /** Tulis PERCENTILES nilai (urutan PERCENTILE_COLUMNS) ke out mulai offset. */
+    public void percentiles(double[] out, int offset) {
+        LogHistogram[] hs = {wait, exec, finish};
+        for (LogHistogram h : hs) {
+            out[offset++] = h.quantile(0.50);
+            out[offset++] = h.quantile(0.95);
+            out[offset++] = h.quantile(0.99);
+        }
+    }
+
+    /** Ringkasan persentil untuk konsol, p = PERCENTILES nilai mulai offset. */
+    public static String formatPercentiles(double[] p, int offset) {
+        return String.format(Locale.US, "p50/p95/p99 Wait=%.2f/%.2f/%.2f, Exec=%.2f/%.2f/%.2f, Finish=%.2f/%.2f/%.2f",
+                p[offset], p[offset + 1], p[offset + 2], p[offset + 3], p[offset + 4], p[offset + 5],
+                p[offset + 6], p[offset + 7], p[offset + 8]);
+    }
+
+    // ===== Histogram =====
+    static final class LogHistogram {
+        private static final int SUB_BITS = 6;
+        private static final int SUB = 1 << SUB_BITS;
+        private static final int MIN_EXP = -16; // ~15 us; lebih kecil masuk bucket pertama
+        private static final int MAX_EXP = 48;
+
+        private final long[] counts = new long[1 + (MAX_EXP - MIN_EXP + 1) * SUB];
+        private long total;
+        private double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+
+        void reset() {
+            Arrays.fill(counts, 0);
+            total = 0;
+            min = Double.POSITIVE_INFINITY;
+            max = Double.NEGATIVE_INFINITY;
+        }
+
+        void record(double v) {
+            if (Double.isNaN(v)) return;
+            counts[index(v)]++;
+            total++;
+            if (v < min) min = v;
+            if (v > max) max = v;
+        }
+
+        // bucket 0: v <= 0; selanjutnya (eksponen, SUB_BITS bit teratas mantisa)
+        static int index(double v) {
+            if (!(v > 0)) return 0;
+            int exp = Math.getExponent(v);
+            if (exp < MIN_EXP) return 1;
+            if (exp > MAX_EXP) return (MAX_EXP - MIN_EXP + 1) * SUB;
+            int sub = (int) ((Double.doubleToRawLongBits(v) >>> (52 - SUB_BITS)) & (SUB - 1));
+            return 1 + (exp - MIN_EXP) * SUB + sub;
+        }
+
+        // nilai tengah bucket
+        static double value(int index) {
+            if (index == 0) return 0;
+            int exp = (index - 1) / SUB + MIN_EXP;
+            int sub = (index - 1) % SUB;
+            return Math.scalb(1.0 + (sub + 0.5) / SUB, exp);
+        }
+
+        /** Persentil nearest-rank; 0 jika kosong. */
+        double quantile(double q) {
+            if (total == 0) return 0;
+            long rank = Math.max(1, (long) Math.ceil(q * total));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) return Math.min(max, Math.max(min, value(i)));
+            }
+            return max;
+        }
+    }
+
+    // ===== Antar percobaan =====
+    /** Rata-rata dan simpangan baku sampel per kolom dengan algoritma Welford. */
+    public static final class Trials {
+        private final double[] mean;
+        private final double[] m2;
+        private long n;
+
+        public Trials(int width) {
+            mean = new double[width];
+            m2 = new double[width];
+        }
+
+        public void add(double[] row) {
+            n++;
+            for (int i = 0; i < mean.length; i++) {
+                double delta = row[i] - mean[i];
+                mean[i] += delta / n;
+                m2[i] += delta * (row[i] - mean[i]);
+            }
+        }
+
+        public long count() {
+            return n;
+        }
+
+        public double mean(int i) {
+            return mean[i];
+        }
+
+        /** Simpangan baku sampel (n - 1); 0 untuk kurang dari dua percobaan. */
+        public double stddev(int i) {
+            return (n <= 1) ? 0.0 : Math.sqrt(Math.max(0, m2[i]) / (n - 1));
+        }
+
+        public double[] means() {
+            return mean.clone();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package perbandingan;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * PSO diskret dengan update & evaluasi partikel paralel di ForkJoinPool.
+ *
+ * Tiap partikel memakai aliran RNG sendiri (hasil split berurutan dari RNG seed
+ * percobaan) dan gbest hanya direduksi di batas iterasi (sinkron), sehingga untuk
+ * seed yang sama hasilnya identik berapa pun jumlah thread.
+ */
+final class ParallelSwarm {
+
+    private final long[] lengths;
+    private final double[] vmMips;
+    private final int n;
+    private final int m;
+
+    // baris 0..P-1 = posisi, P..2P-1 = pbest, 2P = gbest
+    private final int particles;
+    private final PositionStore pos;
+    private final double[] pbestVal;
+    private final MakespanTracker[] fit;
+    private final PsoRandom[] rng;
+    private final UpdateKernel kernel;
+    private final int[][] seeds;
+
+    private boolean hasGbest;
+    private double gbestVal;
+
+    ParallelSwarm(long[] lengths, double[] vmMips, PsoRandom root, UpdateKernel kernel) {
+        this(lengths, vmMips, root, kernel, new int[0][]);
+    }
+
+    /** seeds[p] menjadi posisi awal partikel p (lihat {@link SwarmSeeding}), sisanya acak. */
+    ParallelSwarm(long[] lengths, double[] vmMips, PsoRandom root, UpdateKernel kernel, int[][] seeds) {
+        this.lengths = lengths;
+        this.vmMips = vmMips;
+        this.n = lengths.length;
+        this.m = vmMips.length;
+        this.kernel = kernel;
+        this.seeds = seeds;
+
+        particles = pso.PSO_PARTICLES;
+        pos = PositionStore.create(2 * particles + 1, n, m);
+        pbestVal = new double[particles];
+        fit = new MakespanTracker[particles];
+
+        // aliran RNG per partikel diturunkan berurutan dari seed percobaan
+        rng = new PsoRandom[particles];
+        for (int p = 0; p < particles; p++) rng[p] = root.split();
+    }
+
+    int[] run(int threads) {
+        return run(threads, TerminationPolicy.iterations(pso.PSO_ITERATIONS)).mapping;
+    }
+
+    PsoResult run(int threads, TerminationPolicy stop) {
+        TerminationPolicy.Run run = stop.start(TerminationPolicy.lowerBound(lengths, vmMips));
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, threads));
+        TerminationPolicy.Reason reason;
+        try {
+            pool.invoke(new Step(0, particles, true));
+            reduceGbest();
+            reason = run.initial(gbestVal);
+            while (reason == null) {
+                pool.invoke(new Step(0, particles, false));
+                // barrier iterasi: semua partikel selesai sebelum gbest direduksi
+                reduceGbest();
+                reason = run.after(gbestVal);
+            }
+        } finally {
+            pool.shutdown();
+        }
+        return run.finish(pos.toIntArray(2 * particles), gbestVal, reason);
+    }
+
+    double gbestValue() {
+        return gbestVal;
+    }
+
+    private void initParticle(int p) {
+        PsoRandom r = rng[p];
+        if (p < seeds.length) {
+            for (int i = 0; i < n; i++) pos.set(p, i, seeds[p][i]);
+        } else {
+            for (int i = 0; i < n; i++) pos.set(p, i, r.nextInt(m));
+        }
+        pos.copyRow(p, particles + p);
+        fit[p] = new MakespanTracker(lengths, vmMips);
+        fit[p].reset(pos, p);
+        pbestVal[p] = fit[p].makespan();
+    }
+
+    private void updateParticle(int p) {
+        int pb = particles + p;
+        MakespanTracker f = fit[p];
+        // baris gbest (2P) berisi hasil iterasi sebelumnya, hanya dibaca selama fase ini
+        kernel.update(pos, p, pb, 2 * particles, f, rng[p], m);
+
+        double val = f.makespan();
+        if (val < pbestVal[p]) {
+            pbestVal[p] = val;
+            pos.copyRow(p, pb);
+        }
+    }
+
+    // reduksi berurutan indeks partikel -> seri ditentukan partikel terkecil
+    private void reduceGbest() {
+        int g = -1;
+        double best = hasGbest ? gbestVal : Double.POSITIVE_INFINITY;
+        for (int p = 0; p < pbestVal.length; p++) {
+            if (pbestVal[p] < best) { best = pbestVal[p]; g = p; }
+        }
+        if (g >= 0) {
+            gbestVal = best;
+            hasGbest = true;
+            pos.copyRow(particles + g, 2 * particles);
+        }
+    }
+
+    private final class Step extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int lo, hi;
+        private final boolean init;
+
+        Step(int lo, int hi, boolean init) {
+            this.lo = lo;
+            this.hi = hi;
+            this.init = init;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo == 1) {
+                if (init) initParticle(lo); else updateParticle(lo);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new Step(lo, mid, init), new Step(mid, hi, init));
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package perbandingan;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Locale;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Pengukur fase satu percobaan (runSingleSimulation): muat dataset, CloudSim.init, datacenter/VM,
+ * penjadwalan (PSO), pembuatan cloudlet, simulasi, dan metrik.
+ *
+ * Tiap fase menjadi event JFR {@code soka.TrialPhase}; tiap iterasi PSO menjadi
+ * {@code soka.PsoIteration} (lihat {@link TerminationPolicy.Run}). Tanpa rekaman JFR event tidak
+ * dikomit dan biayanya praktis nol. Rekam dengan:
+ *   java -XX:StartFlightRecording=filename=sweep.jfr,settings=profile ...
+ *   jfr print --events soka.TrialPhase sweep.jfr
+ *
+ * Cadangan tanpa JFR: -Dtrial.timing=true menambah kolom waktu (ms) dan alokasi (MB, hanya thread
+ * percobaan; thread swarm paralel tidak terhitung) per fase di belakang baris CSV percobaan. CSV-nya
+ * diberi akhiran _timed agar tidak tercampur dengan CSV berskema lama.
+ */
+final class PhaseTimer {
+
+    enum Phase {
+        LOAD("Load"), INIT("Init"), INFRA("Infra"), SCHEDULE("Schedule"),
+        CLOUDLETS("Cloudlets"), SIMULATION("Simulation"), METRICS("Metrics");
+
+        final String column;
+
+        Phase(String column) {
+            this.column = column;
+        }
+    }
+
+    static final boolean COLUMNS = Boolean.getBoolean("trial.timing");
+    private static final Phase[] PHASES = Phase.values();
+    private static final com.sun.management.ThreadMXBean THREADS = COLUMNS
+            ? (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean() : null;
+
+    private final String dataset;
+    private final int trial;
+    private final long[] nanos = new long[PHASES.length];
+    private final long[] bytes = new long[PHASES.length];
+    private Phase current;
+    private long startNanos, startBytes;
+    private TrialPhaseEvent event;
+
+    PhaseTimer(String dataset, int trial) {
+        this.dataset = dataset;
+        this.trial = trial;
+    }
+
+    /** Akhiri fase yang sedang berjalan (jika ada) lalu mulai fase p; fase yang sama dibiarkan berlanjut. */
+    void start(Phase p) {
+        if (p == current) return;
+        stop();
+        current = p;
+        event = new TrialPhaseEvent();
+        event.begin();
+        if (COLUMNS) {
+            startBytes = THREADS.getCurrentThreadAllocatedBytes();
+            startNanos = System.nanoTime();
+        }
+    }
+
+    void stop() {
+        if (current == null) return;
+        if (COLUMNS) {
+            nanos[current.ordinal()] += System.nanoTime() - startNanos;
+            bytes[current.ordinal()] += THREADS.getCurrentThreadAllocatedBytes() - startBytes;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.phase = current.column;
+            event.dataset = dataset;
+            event.trial = trial;
+            event.commit();
+        }
+        event = null;
+        current = null;
+    }
+
+    /** Nama kolom tambahan: waktu semua fase, lalu alokasi semua fase; kosong jika tidak aktif. */
+    static String[] columnNames() {
+        if (!COLUMNS) return new String[0];
+        String[] names = new String[2 * PHASES.length];
+        for (Phase p : PHASES) {
+            names[p.ordinal()] = p.column + "Ms";
+            names[PHASES.length + p.ordinal()] = p.column + "AllocMB";
+        }
+        return names;
+    }
+
+    static String csvHeader(String header) {
+        return COLUMNS ? header + "," + String.join(",", columnNames()) : header;
+    }
+
+    static String[] withColumns(String[] columns) {
+        String[] extra = columnNames();
+        String[] all = Arrays.copyOf(columns, columns.length + extra.length);
+        System.arraycopy(extra, 0, all, columns.length, extra.length);
+        return all;
+    }
+
+    /** Nilai kolom fase dari row mulai offset sebagai ",a,b,..." untuk baris CSV. */
+    static String csvValues(double[] row, int offset) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = offset; i < row.length; i++) sb.append(String.format(Locale.US, ",%.3f", row[i]));
+        return sb.toString();
+    }
+
+    /** row diikuti kolom waktu/alokasi jika -Dtrial.timing=true; selain itu row apa adanya. */
+    double[] appendTo(double[] row) {
+        stop();
+        if (!COLUMNS) return row;
+        double[] r = Arrays.copyOf(row, row.length + 2 * PHASES.length);
+        for (int i = 0; i < PHASES.length; i++) {
+            r[row.length + i] = nanos[i] / 1e6;
+            r[row.length + PHASES.length + i] = bytes[i] / (1024.0 * 1024.0);
+        }
+        return r;
+    }
+
+    // ===== Event JFR =====
+    @Name("soka.TrialPhase")
+    @Label("Trial Phase")
+    @Category({"SOKA", "Simulasi"})
+    @Description("Satu fase runSingleSimulation")
+    @StackTrace(false)
+    static final class TrialPhaseEvent extends Event {
+        @Label("Phase")
+        String phase;
+        @Label("Dataset")
+        String dataset;
+        @Label("Trial")
+        int trial;
+    }
+
+    @Name("soka.PsoIteration")
+    @Label("PSO Iteration")
+    @Category({"SOKA", "PSO"})
+    @Description("Satu iterasi PSO (atau satu epoch model pulau)")
+    @StackTrace(false)
+    static final class PsoIterationEvent extends Event {
+        @Label("Iteration")
+        int iteration;
+        @Label("Steps")
+        int steps;
+        @Label("Gbest Makespan")
+        double gbest;
+        @Label("Iteration Time (ms)")
+        double iterationMs;
+    }
+}
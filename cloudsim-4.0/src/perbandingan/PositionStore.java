@@ -0,0 +1,132 @@
+package perbandingan;
+
+/**
+ * Penyimpanan posisi partikel yang dipadatkan: beberapa baris (posisi, pbest, gbest)
+ * masing-masing sepanjang n cloudlet dalam satu array datar. Indeks VM disimpan
+ * sebagai byte jika m <= 256, short jika m <= 65536, selain itu int.
+ *
+ * Semua baris dialokasikan sekali; salin baris dilakukan in-place sehingga loop
+ * utama PSO tidak mengalokasikan array baru.
+ */
+abstract class PositionStore {
+
+    final int rows;
+    final int n;
+
+    PositionStore(int rows, int n) {
+        this.rows = rows;
+        this.n = n;
+    }
+
+    static PositionStore create(int rows, int n, int vmCount) {
+        if (vmCount <= 1 << 8) return new Bytes(rows, n);
+        if (vmCount <= 1 << 16) return new Shorts(rows, n);
+        return new Ints(rows, n);
+    }
+
+    abstract int get(int row, int i);
+
+    abstract void set(int row, int i, int vm);
+
+    abstract void copyRow(int src, int dst);
+
+    /** Byte per elemen, untuk laporan memori. */
+    abstract int bytesPerEntry();
+
+    int[] toIntArray(int row) {
+        int[] out = new int[n];
+        for (int i = 0; i < n; i++) out[i] = get(row, i);
+        return out;
+    }
+
+    long footprintBytes() {
+        return (long) rows * n * bytesPerEntry();
+    }
+
+    private static final class Bytes extends PositionStore {
+        private final byte[] data;
+
+        Bytes(int rows, int n) {
+            super(rows, n);
+            data = new byte[Math.multiplyExact(rows, n)];
+        }
+
+        @Override
+        int get(int row, int i) {
+            return data[row * n + i] & 0xFF;
+        }
+
+        @Override
+        void set(int row, int i, int vm) {
+            data[row * n + i] = (byte) vm;
+        }
+
+        @Override
+        void copyRow(int src, int dst) {
+            System.arraycopy(data, src * n, data, dst * n, n);
+        }
+
+        @Override
+        int bytesPerEntry() {
+            return 1;
+        }
+    }
+
+    private static final class Shorts extends PositionStore {
+        private final short[] data;
+
+        Shorts(int rows, int n) {
+            super(rows, n);
+            data = new short[Math.multiplyExact(rows, n)];
+        }
+
+        @Override
+        int get(int row, int i) {
+            return data[row * n + i] & 0xFFFF;
+        }
+
+        @Override
+        void set(int row, int i, int vm) {
+            data[row * n + i] = (short) vm;
+        }
+
+        @Override
+        void copyRow(int src, int dst) {
+            System.arraycopy(data, src * n, data, dst * n, n);
+        }
+
+        @Override
+        int bytesPerEntry() {
+            return 2;
+        }
+    }
+
+    private static final class Ints extends PositionStore {
+        private final int[] data;
+
+        Ints(int rows, int n) {
+            super(rows, n);
+            data = new int[Math.multiplyExact(rows, n)];
+        }
+
+        @Override
+        int get(int row, int i) {
+            return data[row * n + i];
+        }
+
+        @Override
+        void set(int row, int i, int vm) {
+            data[row * n + i] = vm;
+        }
+
+        @Override
+        void copyRow(int src, int dst) {
+            System.arraycopy(data, src * n, data, dst * n, n);
+        }
+
+        @Override
+        int bytesPerEntry() {
+            return 4;
+        }
+    }
+}
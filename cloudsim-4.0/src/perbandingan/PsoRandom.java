@@ -0,0 +1,139 @@
+package perbandingan;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * Sumber bilangan acak untuk PSO yang bisa diganti (-Dpso.rng=jdk|splittable|xoshiro).
+ *
+ * "jdk" membungkus java.util.Random sehingga urutan angka sama dengan hasil lama;
+ * "splittable" dan "xoshiro" tanpa CAS dan jauh lebih cepat di loop dalam PSO.
+ */
+interface PsoRandom {
+
+    long nextLong();
+
+    int nextInt(int bound);
+
+    double nextDouble();
+
+    /** Aliran baru yang independen, diturunkan dari state saat ini. */
+    PsoRandom split();
+
+    static PsoRandom create(String kind, long seed) {
+        switch (kind) {
+            case "jdk":
+                return new Jdk(new Random(seed));
+            case "splittable":
+                return new Splittable(new SplittableRandom(seed));
+            case "xoshiro":
+                return new Xoshiro256(seed);
+            default:
+                throw new IllegalArgumentException("pso.rng tidak dikenal: " + kind);
+        }
+    }
+
+    final class Jdk implements PsoRandom {
+        private final Random r;
+
+        Jdk(Random r) {
+            this.r = r;
+        }
+
+        @Override
+        public long nextLong() {
+            return r.nextLong();
+        }
+
+        @Override
+        public int nextInt(int bound) {
+            return r.nextInt(bound);
+        }
+
+        @Override
+        public double nextDouble() {
+            return r.nextDouble();
+        }
+
+        @Override
+        public PsoRandom split() {
+            return new Jdk(new Random(r.nextLong()));
+        }
+    }
+
+    final class Splittable implements PsoRandom {
+        private final SplittableRandom r;
+
+        Splittable(SplittableRandom r) {
+            this.r = r;
+        }
+
+        @Override
+        public long nextLong() {
+            return r.nextLong();
+        }
+
+        @Override
+        public int nextInt(int bound) {
+            return r.nextInt(bound);
+        }
+
+        @Override
+        public double nextDouble() {
+            return r.nextDouble();
+        }
+
+        @Override
+        public PsoRandom split() {
+            return new Splittable(r.split());
+        }
+    }
+
+    /** xoshiro256** (Blackman & Vigna), state diisi dari SplitMix64. */
+    final class Xoshiro256 implements PsoRandom {
+        private long s0, s1, s2, s3;
+
+        Xoshiro256(long seed) {
+            long x = seed;
+            s0 = mix(x += 0x9E3779B97F4A7C15L);
+            s1 = mix(x += 0x9E3779B97F4A7C15L);
+            s2 = mix(x += 0x9E3779B97F4A7C15L);
+            s3 = mix(x + 0x9E3779B97F4A7C15L);
+        }
+
+        private static long mix(long z) {
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            return z ^ (z >>> 31);
+        }
+
+        @Override
+        public long nextLong() {
+            long result = Long.rotateLeft(s1 * 5, 7) * 9;
+            long t = s1 << 17;
+            s2 ^= s0;
+            s3 ^= s1;
+            s1 ^= s2;
+            s0 ^= s3;
+            s2 ^= t;
+            s3 = Long.rotateLeft(s3, 45);
+            return result;
+        }
+
+        // perkalian 32x32 (Lemire); bias <= bound/2^32, dapat diabaikan untuk jumlah VM
+        @Override
+        public int nextInt(int bound) {
+            return (int) (((nextLong() >>> 32) * bound) >>> 32);
+        }
+
+        @Override
+        public double nextDouble() {
+            return (nextLong() >>> 11) * 0x1.0p-53;
+        }
+
+        @Override
+        public PsoRandom split() {
+            return new Xoshiro256(nextLong());
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package perbandingan;
+
+import java.util.Locale;
+
+/** Hasil satu eksekusi PSO: pemetaan gbest beserta alasan berhenti dan celah ke batas bawah. */
+final class PsoResult {
+
+    final int[] mapping;
+    final double makespan;
+    final int iterations;
+    final TerminationPolicy.Reason stopReason;
+    final double lowerBound;
+    final double elapsedMs;
+    /** Laporan seleksi top-k dengan simulasi (-Dpso.topK), null jika tidak aktif. */
+    final TopKRefinement.Report refinement;
+
+    PsoResult(int[] mapping, double makespan, int iterations, TerminationPolicy.Reason stopReason,
+              double lowerBound, double elapsedMs) {
+        this(mapping, makespan, iterations, stopReason, lowerBound, elapsedMs, null);
+    }
+
+    private PsoResult(int[] mapping, double makespan, int iterations, TerminationPolicy.Reason stopReason,
+                      double lowerBound, double elapsedMs, TopKRefinement.Report refinement) {
+        this.mapping = mapping;
+        this.makespan = makespan;
+        this.iterations = iterations;
+        this.stopReason = stopReason;
+        this.lowerBound = lowerBound;
+        this.elapsedMs = elapsedMs;
+        this.refinement = refinement;
+    }
+
+    /** Hasil yang sama dengan pemetaan pilihan seleksi top-k. */
+    PsoResult refined(int[] mapping, double makespan, TopKRefinement.Report report) {
+        return new PsoResult(mapping.clone(), makespan, iterations, stopReason, lowerBound, elapsedMs, report);
+    }
+
+    /** Celah relatif (makespan - batas bawah) / batas bawah. */
+    double gap() {
+        return TerminationPolicy.gap(makespan, lowerBound);
+    }
+
+    String summary() {
+        String s = String.format(Locale.US, "PSO berhenti: %s setelah %d iterasi (%.1f ms), estimasi makespan=%.4f, batas bawah=%.4f, celah=%.4f%%",
+                stopReason, iterations, elapsedMs, makespan, lowerBound, gap() * 100);
+        return refinement == null ? s : s + "\n" + refinement.summary();
+    }
+}
@@ -0,0 +1,132 @@
+package perbandingan;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Cache hasil run simulasi yang beralamat isi: kunci = SHA-256 dari isi file dataset, sidik kode
+ * (semua .class dan .jar di classpath, termasuk jar CloudSim) dan semua parameter yang memengaruhi
+ * hasil (konstanta infrastruktur, mapper, scheduler, seed). Run dengan kunci yang sudah ada tidak
+ * perlu disimulasikan lagi, juga setelah program dijalankan ulang; kode yang dikompilasi ulang
+ * dengan isi berbeda otomatis memakai kunci baru.
+ *
+ * Satu file per kunci, {@code <dir>/<hex>.res}, ditulis atomik (file sementara lalu rename):
+ * <pre>
+ *   0  magic "SOKARES1" (long)
+ *   8  jumlah nilai (int)
+ *  12  nilai (double x jumlah)
+ * </pre>
+ * File yang rusak atau tidak cocok dianggap tidak ada. Pemanggil wajib memasukkan ke kunci setiap
+ * parameter -D yang bisa mengubah hasil; {@link #VERSION} hanya untuk perubahan format kunci/nilai.
+ *
+ * Nonaktifkan dengan -Dresult.cache=false.
+ */
+public final class ResultCache {
+
+    static final String SUFFIX = ".res";
+    private static final long MAGIC = 0x534F4B4152455331L; // "SOKARES1", DataOutputStream big-endian
+    private static final int VERSION = 2; // 2: hasil ContohCloudsim ditambah persentil
+    private static final boolean ENABLED = !"false".equalsIgnoreCase(System.getProperty("result.cache", "true"));
+
+    private static volatile byte[] codeFingerprint;
+
+    private final Path dir;
+
+    public ResultCache(String dir) {
+        this.dir = Paths.get(dir);
+    }
+
+    public static boolean enabled() {
+        return ENABLED;
+    }
+
+    /** Kunci hex untuk isi file dataset ditambah parameter (diurutkan sesuai argumen). */
+    public static String key(String datasetPath, Object... params) throws IOException {
+        MessageDigest md = sha256();
+        md.update(("v" + VERSION + "\n").getBytes(StandardCharsets.UTF_8));
+        md.update(codeFingerprint());
+        digest(md, Paths.get(datasetPath));
+        for (Object p : params) md.update(("\n" + p).getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(md.digest());
+    }
+
+    // SHA-256 semua .jar dan .class di classpath, dihitung sekali per JVM (classloader)
+    private static byte[] codeFingerprint() throws IOException {
+        byte[] fp = codeFingerprint;
+        if (fp != null) return fp;
+        MessageDigest md = sha256();
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            Path p = Paths.get(entry);
+            if (Files.isDirectory(p)) {
+                List<Path> classes;
+                try (Stream<Path> files = Files.walk(p)) {
+                    classes = files.filter(f -> f.toString().endsWith(".class")).sorted().toList();
+                }
+                for (Path c : classes) {
+                    md.update(p.relativize(c).toString().getBytes(StandardCharsets.UTF_8));
+                    digest(md, c);
+                }
+            } else if (Files.isRegularFile(p)) {
+                digest(md, p);
+            }
+        }
+        codeFingerprint = fp = md.digest();
+        return fp;
+    }
+
+    private static void digest(MessageDigest md, Path file) throws IOException {
+        byte[] buf = new byte[1 << 16];
+        try (InputStream in = Files.newInputStream(file)) {
+            for (int r; (r = in.read(buf)) > 0; ) md.update(buf, 0, r);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** Hasil tersimpan, atau null jika belum ada / tidak terbaca. */
+    public double[] get(String key) {
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(dir.resolve(key + SUFFIX)))) {
+            if (in.readLong() != MAGIC) return null;
+            double[] values = new double[in.readInt()];
+            for (int i = 0; i < values.length; i++) values[i] = in.readDouble();
+            return in.read() < 0 ? values : null;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | NegativeArraySizeException e) {
+            System.out.println("Cache hasil " + key + " tidak terbaca (" + e + "), disimulasikan ulang.");
+            return null;
+        }
+    }
+
+    public void put(String key, double[] values) throws IOException {
+        Files.createDirectories(dir);
+        Path target = dir.resolve(key + SUFFIX);
+        Path tmp = Files.createTempFile(dir, key, ".tmp");
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(tmp))) {
+            out.writeLong(MAGIC);
+            out.writeInt(values.length);
+            for (double v : values) out.writeDouble(v);
+        }
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,225 @@
+package perbandingan;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Penulis hasil per percobaan dengan satu thread penulis dan antrean terbatas, pengganti membuka
+ * FileWriter untuk setiap baris.
+ *
+ * Pemanggil hanya memasukkan baris ke antrean (memblok jika penuh, -Dresult.sink.queue, bawaan
+ * 1024). Thread penulis mengodekan baris ke buffer dan menulis ke file tiap
+ * -Dresult.sink.flushMs (bawaan 1000), saat buffer penuh, dan saat ditutup/JVM berhenti. Buffer
+ * hanya pernah berisi baris utuh dan dikirim dalam satu write, jadi baris tidak pernah terpotong
+ * atau berselang-seling antar penulis.
+ *
+ * Format (-Dresult.format):
+ *   csv   - skema CSV yang sama seperti sebelumnya (bawaan), baris dibentuk pemanggil
+ *   jsonl - satu objek JSON per baris dengan nilai presisi penuh
+ *   bin   - "SOKAROW1", jumlah kolom (int), lalu per baris: panjang label (short), label UTF-8,
+ *           trial (int), nilai (double x jumlah kolom); big-endian
+ */
+final class ResultSink implements AutoCloseable {
+
+    enum Format {
+        CSV(".csv"), JSONL(".jsonl"), BIN(".bin");
+
+        final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+    }
+
+    static final Format FORMAT = Format.valueOf(System.getProperty("result.format", "csv").toUpperCase(Locale.ROOT));
+    private static final int QUEUE = Integer.getInteger("result.sink.queue", 1024);
+    private static final long FLUSH_MS = Long.getLong("result.sink.flushMs", 1000);
+    private static final int BUFFER_BYTES = 1 << 16;
+    private static final long BIN_MAGIC = 0x534F4B41524F5731L; // "SOKAROW1"
+
+    private static final class Row {
+        final String label;
+        final int trial;
+        final double[] values;
+        final String csvLine;
+
+        Row(String label, int trial, double[] values, String csvLine) {
+            this.label = label;
+            this.trial = trial;
+            this.values = values;
+            this.csvLine = csvLine;
+        }
+    }
+
+    private static final Row END = new Row(null, 0, null, null);
+
+    private final Format format;
+    private final String[] columns;
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+    private final BlockingQueue<Row> queue = new ArrayBlockingQueue<>(QUEUE);
+    private final Thread writer;
+    private final Thread shutdownHook;
+    private volatile IOException failure;
+    private boolean closed;
+
+    /**
+     * Buka file base + ekstensi format untuk ditambah. Jika file masih kosong, header CSV / kepala
+     * biner ditulis lebih dulu. columns = nama kolom nilai (tanpa Dataset, Trial).
+     */
+    static ResultSink open(String basePath, String csvHeader, String[] columns) throws IOException {
+        return new ResultSink(Paths.get(basePath + FORMAT.extension), FORMAT, csvHeader, columns);
+    }
+
+    static String path(String basePath) {
+        return basePath + FORMAT.extension;
+    }
+
+    private ResultSink(Path path, Format format, String csvHeader, String[] columns) throws IOException {
+        this.format = format;
+        this.columns = columns;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        if (channel.size() == 0) {
+            if (format == Format.CSV) {
+                buffer.put((csvHeader + System.lineSeparator()).getBytes(StandardCharsets.UTF_8));
+            } else if (format == Format.BIN) {
+                buffer.putLong(BIN_MAGIC).putInt(columns.length);
+            }
+            drain();
+        }
+        writer = new Thread(this::writeLoop, "result-sink-" + path.getFileName());
+        writer.setDaemon(true);
+        writer.start();
+        shutdownHook = new Thread(this::closeQuietly, "result-sink-shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    /** Masukkan satu baris; csvLine dipakai untuk format csv, values untuk format lain. */
+    void append(String label, int trial, double[] values, String csvLine) throws IOException {
+        if (failure != null) throw failure;
+        try {
+            queue.put(new Row(label, trial, values.clone(), csvLine));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Terputus saat menunggu antrean hasil", e);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // sedang shutdown: close dipanggil dari hook itu sendiri
+        }
+        try {
+            queue.put(END);
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            channel.close();
+        }
+        if (failure != null) throw failure;
+    }
+
+    private void closeQuietly() {
+        try {
+            close();
+        } catch (IOException e) {
+            System.out.println("Gagal menutup file hasil: " + e.getMessage());
+        }
+    }
+
+    // ===== Thread penulis =====
+    private void writeLoop() {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(FLUSH_MS);
+        try {
+            while (true) {
+                long wait = deadline - System.nanoTime();
+                Row row = (wait > 0) ? queue.poll(wait, TimeUnit.NANOSECONDS) : null;
+                if (row == END) break;
+                if (row != null) put(encode(row));
+                if (System.nanoTime() - deadline >= 0) {
+                    drain();
+                    deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(FLUSH_MS);
+                }
+            }
+            drain();
+        } catch (IOException e) {
+            failure = e;
+            queue.clear(); // jangan biarkan pemanggil memblok selamanya
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // baris hanya masuk buffer utuh; jika tidak muat, isi buffer ditulis dulu
+    private void put(byte[] row) throws IOException {
+        if (row.length > buffer.remaining()) drain();
+        if (row.length > buffer.capacity()) {
+            ByteBuffer big = ByteBuffer.wrap(row);
+            while (big.hasRemaining()) channel.write(big);
+        } else {
+            buffer.put(row);
+        }
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) channel.write(buffer);
+        buffer.clear();
+    }
+
+    private byte[] encode(Row row) {
+        switch (format) {
+            case JSONL: {
+                StringBuilder sb = new StringBuilder(64 + 24 * columns.length);
+                sb.append("{\"dataset\":\"").append(escape(row.label)).append("\",\"trial\":").append(row.trial);
+                for (int c = 0; c < columns.length; c++) {
+                    sb.append(",\"").append(columns[c]).append("\":");
+                    double v = row.values[c];
+                    sb.append(Double.isFinite(v) ? Double.toString(v) : "null");
+                }
+                return sb.append("}\n").toString().getBytes(StandardCharsets.UTF_8);
+            }
+            case BIN: {
+                byte[] label = row.label.getBytes(StandardCharsets.UTF_8);
+                ByteBuffer b = ByteBuffer.allocate(2 + label.length + 4 + 8 * row.values.length);
+                b.putShort((short) label.length).put(label).putInt(row.trial);
+                for (double v : row.values) b.putDouble(v);
+                return b.array();
+            }
+            default:
+                return (row.csvLine + System.lineSeparator()).getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    private static String escape(String s) {
+        StringBuilder sb = new StringBuilder(s.length());
+        for (char ch : s.toCharArray()) {
+            if (ch == '"' || ch == '\\') sb.append('\\').append(ch);
+            else if (ch < 0x20) sb.append(String.format(Locale.ROOT, "\\u%04x", (int) ch));
+            else sb.append(ch);
+        }
+        return sb.toString();
+    }
+
+    /** Nama kolom nilai dari header CSV (tanpa dua kolom pertama Dataset, Trial). */
+    static String[] valueColumns(String csvHeader) {
+        String[] all = csvHeader.split(",");
+        return Arrays.copyOfRange(all, 2, all.length);
+    }
+}
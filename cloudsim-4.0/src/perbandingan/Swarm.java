@@ -0,0 +1,141 @@
+package perbandingan;
+
+/**
+ * Swarm PSO diskret sekuensial (gbest diperbarui asinkron, langsung setelah partikel membaik).
+ * Dipakai oleh {@link pso#psoAssign} dan sebagai satu pulau di {@link IslandModel}.
+ */
+final class Swarm {
+
+    private final long[] lengths;
+    private final double[] vmMips;
+    private final int n;
+    private final int m;
+    private final int particles;
+    private final PsoRandom rnd;
+    private final UpdateKernel kernel;
+
+    // baris 0..P-1 = posisi, P..2P-1 = pbest, 2P = gbest (indeks VM dipadatkan)
+    private final PositionStore pos;
+    private final double[] pbestVal;
+    // fitness inkremental per partikel (beban VM + indeks VM maksimum)
+    private final MakespanTracker[] fit;
+    private double gbestVal;
+    // arsip top-k opsional, diisi dari setiap evaluasi partikel
+    private CandidateArchive archive;
+
+    Swarm(long[] lengths, double[] vmMips, int particles, PsoRandom rnd, UpdateKernel kernel) {
+        this.lengths = lengths;
+        this.vmMips = vmMips;
+        this.n = lengths.length;
+        this.m = vmMips.length;
+        this.particles = particles;
+        this.rnd = rnd;
+        this.kernel = kernel;
+        pos = PositionStore.create(2 * particles + 1, n, m);
+        pbestVal = new double[particles];
+        fit = new MakespanTracker[particles];
+    }
+
+    void init() {
+        init(new int[0][]);
+    }
+
+    /** Pasang arsip kandidat sebelum {@link #init}; setiap posisi yang dievaluasi ditawarkan ke arsip. */
+    void archive(CandidateArchive archive) {
+        this.archive = archive;
+    }
+
+    /** Partikel ke-p < seeds.length mulai dari seeds[p] (tanpa memakai RNG), sisanya acak. */
+    void init(int[][] seeds) {
+        for (int p = 0; p < particles; p++) {
+            if (p < seeds.length) {
+                for (int i = 0; i < n; i++) pos.set(p, i, seeds[p][i]);
+            } else {
+                for (int i = 0; i < n; i++) pos.set(p, i, rnd.nextInt(m));
+            }
+            pos.copyRow(p, particles + p);
+            fit[p] = new MakespanTracker(lengths, vmMips);
+            fit[p].reset(pos, p);
+            pbestVal[p] = fit[p].makespan();
+            if (archive != null) archive.offer(pbestVal[p], pos, p);
+        }
+
+        // global best
+        int gIdx = 0;
+        for (int p = 1; p < particles; p++) if (pbestVal[p] < pbestVal[gIdx]) gIdx = p;
+        pos.copyRow(particles + gIdx, 2 * particles);
+        gbestVal = pbestVal[gIdx];
+    }
+
+    /** Satu iterasi: update diskret & evaluasi tiap partikel berurutan. */
+    void iterate() {
+        final int PB = particles, GB = 2 * particles;
+        for (int p = 0; p < particles; p++) {
+            MakespanTracker f = fit[p];
+            kernel.update(pos, p, PB + p, GB, f, rnd, m);
+
+            double val = f.makespan();
+            if (archive != null) archive.offer(val, pos, p);
+            if (val < pbestVal[p]) {
+                pbestVal[p] = val;
+                pos.copyRow(p, PB + p);
+                if (val < gbestVal) {
+                    gbestVal = val;
+                    pos.copyRow(PB + p, GB);
+                }
+            }
+        }
+    }
+
+    double gbestValue() {
+        return gbestVal;
+    }
+
+    int[] gbestMapping() {
+        return pos.toIntArray(2 * particles);
+    }
+
+    int particles() {
+        return particles;
+    }
+
+    double pbestValue(int p) {
+        return pbestVal[p];
+    }
+
+    int[] pbestMapping(int p) {
+        return pos.toIntArray(particles + p);
+    }
+
+    /** Perbaiki semua pbest dengan pencarian lokal; posisi partikel tidak diubah. */
+    void refinePbests(LocalSearch ls) {
+        for (int p = 0; p < particles; p++) {
+            int[] x = pbestMapping(p);
+            double val = ls.improve(x);
+            if (archive != null) archive.offer(val, x);
+            if (val < pbestVal[p]) {
+                for (int i = 0; i < n; i++) pos.set(particles + p, i, x[i]);
+                pbestVal[p] = val;
+                if (val < gbestVal) {
+                    gbestVal = val;
+                    pos.copyRow(particles + p, 2 * particles);
+                }
+            }
+        }
+    }
+
+    /**
+     * Ganti partikel p (posisi sekaligus pbest) dengan pemetaan dari luar, misalnya
+     * migran dari pulau lain; gbest ikut diperbarui jika lebih baik.
+     */
+    void replaceParticle(int p, int[] mapping) {
+        for (int i = 0; i < n; i++) pos.set(p, i, mapping[i]);
+        pos.copyRow(p, particles + p);
+        fit[p].reset(pos, p);
+        pbestVal[p] = fit[p].makespan();
+        if (pbestVal[p] < gbestVal) {
+            gbestVal = pbestVal[p];
+            pos.copyRow(particles + p, 2 * particles);
+        }
+    }
+}
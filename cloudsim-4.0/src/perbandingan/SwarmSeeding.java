@@ -0,0 +1,77 @@
+package perbandingan;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Inisialisasi hangat swarm PSO (-Dpso.seed=...).
+ *
+ * Spesifikasi berupa daftar {@code sumber:jumlah} dipisah koma, misalnya {@code lpt:1,greedy:1,prev:2}.
+ * Sumber adalah nama {@link CloudletMapper} (rr, lpt, greedy, minmin, maxmin) atau {@code prev}
+ * untuk gbest percobaan sebelumnya pada dataset yang sama. Partikel pertama diisi sesuai urutan
+ * spesifikasi; sisanya tetap acak untuk menjaga keragaman. Spesifikasi kosong = semua acak (asli).
+ */
+final class SwarmSeeding {
+
+    static final String PREVIOUS = "prev";
+
+    private final List<String> sources = new ArrayList<>();
+    private final List<Integer> counts = new ArrayList<>();
+
+    private SwarmSeeding() {}
+
+    static SwarmSeeding parse(String spec) {
+        SwarmSeeding s = new SwarmSeeding();
+        if (spec == null || spec.trim().isEmpty()) return s;
+        for (String part : spec.split(",")) {
+            String[] kv = part.trim().split(":");
+            String source = kv[0].trim().toLowerCase(Locale.ROOT);
+            int count = kv.length > 1 ? Integer.parseInt(kv[1].trim()) : 1;
+            if (count < 0) throw new IllegalArgumentException("Jumlah seed negatif: " + part);
+            if (!PREVIOUS.equals(source)) CloudletMapper.of(source); // validasi nama lebih awal
+            s.sources.add(source);
+            s.counts.add(count);
+        }
+        return s;
+    }
+
+    boolean isEmpty() {
+        for (int c : counts) if (c > 0) return false;
+        return true;
+    }
+
+    boolean usesPrevious() {
+        return sources.contains(PREVIOUS);
+    }
+
+    /**
+     * Bangun pemetaan awal untuk maksimal {@code particles} partikel.
+     *
+     * @param previous gbest percobaan sebelumnya, sudah diindeks ulang ke urutan cloudlet saat ini;
+     *                 null jika belum ada (sumber prev dilewati)
+     */
+    int[][] build(long[] lengths, double[] vmMips, int[] previous, int particles) {
+        List<int[]> out = new ArrayList<>();
+        for (int k = 0; k < sources.size() && out.size() < particles; k++) {
+            String source = sources.get(k);
+            int[] mapping = PREVIOUS.equals(source)
+                    ? previous
+                    : CloudletMapper.of(source).map(lengths, vmMips);
+            if (mapping == null) continue;
+            for (int c = 0; c < counts.get(k) && out.size() < particles; c++) out.add(mapping);
+        }
+        return out.toArray(new int[0][]);
+    }
+
+    /** Ringkasan untuk log, misalnya "lpt x1, prev x2". */
+    String describe() {
+        if (isEmpty()) return "acak";
+        StringBuilder sb = new StringBuilder();
+        for (int k = 0; k < sources.size(); k++) {
+            if (sb.length() > 0) sb.append(", ");
+            sb.append(sources.get(k)).append(" x").append(counts.get(k));
+        }
+        return sb.append(", sisanya acak").toString();
+    }
+}
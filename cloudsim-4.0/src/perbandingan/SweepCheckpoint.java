@@ -0,0 +1,176 @@
+package perbandingan;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Catatan run yang sudah selesai dalam satu sweep, agar sweep yang terhenti (JVM mati, mesin
+ * mati) bisa dilanjutkan dengan -Dsweep.resume=true tanpa mengulang run tersebut.
+ *
+ * Tiap run yang selesai langsung ditambahkan sebagai satu baris utuh (satu write + force), jadi
+ * crash paling banyak membuang run yang sedang berjalan. Baris terakhir yang terpotong diabaikan
+ * dan dipangkas saat dibuka ulang. Nilai disimpan sebagai bit double (hex) sehingga hasil yang
+ * dilanjutkan sama persis dengan sweep yang tidak terputus.
+ *
+ * Format teks:
+ * <pre>
+ *   SOKACKP1 &lt;fingerprint&gt; &lt;mark&gt;
+ *   &lt;kunci run&gt;\t&lt;hex,hex,...&gt;     ("-" untuk hasil null)
+ * </pre>
+ * fingerprint mengikat checkpoint ke konfigurasi (dataset, opsi -D); checkpoint dengan
+ * fingerprint lain diabaikan. mark adalah nilai bebas milik pemanggil yang dicatat saat sweep
+ * dimulai, misalnya ukuran CSV sebelum baris sweep ini ditulis. File dihapus saat sweep selesai.
+ */
+public final class SweepCheckpoint implements AutoCloseable {
+
+    private static final String MAGIC = "SOKACKP1";
+    private static final boolean RESUME = Boolean.getBoolean("sweep.resume");
+
+    private final Path path;
+    private final long mark;
+    private final boolean resumed;
+    private final Map<String, double[]> done = new HashMap<>();
+    private final FileChannel channel;
+
+    private SweepCheckpoint(Path path, long mark, boolean resumed, FileChannel channel) {
+        this.path = path;
+        this.mark = mark;
+        this.resumed = resumed;
+        this.channel = channel;
+    }
+
+    public static boolean resumeRequested() {
+        return RESUME;
+    }
+
+    /**
+     * Dengan -Dsweep.resume=true dan checkpoint berfingerprint sama, run yang tercatat dimuat;
+     * selain itu checkpoint dimulai baru dengan mark = freshMark.
+     */
+    public static SweepCheckpoint open(String file, String fingerprint, long freshMark) throws IOException {
+        if (fingerprint.isEmpty() || fingerprint.matches(".*\\s.*")) {
+            throw new IllegalArgumentException("Fingerprint checkpoint tidak boleh kosong/berspasi: " + fingerprint);
+        }
+        Path path = Paths.get(file);
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        if (RESUME && Files.exists(path)) {
+            SweepCheckpoint resumed = load(path, fingerprint);
+            if (resumed != null) return resumed;
+            System.out.println("Checkpoint " + path + " untuk konfigurasi lain, sweep dimulai dari awal.");
+        }
+        FileChannel ch = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        SweepCheckpoint ck = new SweepCheckpoint(path, freshMark, false, ch);
+        ck.append(MAGIC + " " + fingerprint + " " + freshMark + "\n");
+        return ck;
+    }
+
+    private static SweepCheckpoint load(Path path, String fingerprint) throws IOException {
+        byte[] bytes = Files.readAllBytes(path);
+        int complete = 0; // panjang sampai baris utuh terakhir
+        for (int i = bytes.length - 1; i >= 0; i--) {
+            if (bytes[i] == '\n') {
+                complete = i + 1;
+                break;
+            }
+        }
+        String[] lines = new String(bytes, 0, complete, StandardCharsets.UTF_8).split("\n");
+        String[] header = lines[0].split(" ");
+        if (header.length != 3 || !MAGIC.equals(header[0]) || !header[1].equals(fingerprint)) return null;
+
+        FileChannel ch = FileChannel.open(path, StandardOpenOption.WRITE);
+        ch.truncate(complete);
+        ch.position(complete);
+        SweepCheckpoint ck = new SweepCheckpoint(path, Long.parseLong(header[2]), true, ch);
+        for (int l = 1; l < lines.length; l++) {
+            int tab = lines[l].indexOf('\t');
+            if (tab > 0) ck.done.put(lines[l].substring(0, tab), decode(lines[l].substring(tab + 1)));
+        }
+        System.out.println("Melanjutkan dari checkpoint " + path + ": " + ck.done.size() + " run sudah selesai.");
+        return ck;
+    }
+
+    /** Sidik konfigurasi dari properti sistem berawalan tertentu (urut nama). */
+    public static String properties(String... prefixes) {
+        Map<String, String> sorted = new TreeMap<>();
+        for (String name : System.getProperties().stringPropertyNames()) {
+            for (String p : prefixes) if (name.startsWith(p)) sorted.put(name, System.getProperty(name));
+        }
+        return sorted.toString();
+    }
+
+    public boolean resumed() {
+        return resumed;
+    }
+
+    public long mark() {
+        return mark;
+    }
+
+    /** Jika dilanjutkan, potong file keluaran kembali ke mark (baris dari sweep terputus dibuang). */
+    public void rewind(String file) throws IOException {
+        if (!resumed || !Files.exists(Paths.get(file))) return;
+        try (FileChannel ch = FileChannel.open(Paths.get(file), StandardOpenOption.WRITE)) {
+            if (ch.size() > mark) ch.truncate(mark);
+        }
+    }
+
+    public synchronized boolean contains(String key) {
+        return done.containsKey(key);
+    }
+
+    public synchronized double[] get(String key) {
+        return done.get(key);
+    }
+
+    public synchronized void record(String key, double[] values) throws IOException {
+        if (done.containsKey(key)) return;
+        done.put(key, values);
+        append(key + "\t" + encode(values) + "\n");
+    }
+
+    /** Sweep selesai: checkpoint tidak diperlukan lagi. */
+    public synchronized void complete() throws IOException {
+        channel.close();
+        Files.deleteIfExists(path);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    private void append(String line) throws IOException {
+        ByteBuffer buf = ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8));
+        while (buf.hasRemaining()) channel.write(buf);
+        channel.force(false);
+    }
+
+    private static String encode(double[] values) {
+        if (values == null) return "-";
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) sb.append(',');
+            sb.append(Long.toHexString(Double.doubleToRawLongBits(values[i])));
+        }
+        return sb.toString();
+    }
+
+    private static double[] decode(String s) {
+        if ("-".equals(s)) return null;
+        if (s.isEmpty()) return new double[0];
+        String[] parts = s.split(",");
+        double[] values = new double[parts.length];
+        for (int i = 0; i < parts.length; i++) values[i] = Double.longBitsToDouble(Long.parseUnsignedLong(parts[i], 16));
+        return values;
+    }
+}
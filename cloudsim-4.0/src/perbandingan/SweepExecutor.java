@@ -0,0 +1,378 @@
+package perbandingan;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Menjalankan banyak run simulasi (dataset x percobaan) sekaligus, masing-masing dengan CloudSim
+ * sendiri.
+ *
+ * CloudSim menyimpan daftar entitas, jam, dan antrean event di field statis, jadi dua simulasi
+ * tidak bisa berjalan bersamaan dengan kelas yang sama. Tiap worker memuat ulang kelas proyek
+ * dan CloudSim dari classpath lewat URLClassLoader miliknya sendiri (parent = platform loader),
+ * sehingga state statisnya terpisah; run di worker yang sama tetap berurutan.
+ *
+ * Run adalah method statis {@code double[] f(args...)} yang dipanggil lewat refleksi; argumen dan
+ * hasil hanya tipe JDK agar bisa melintasi classloader. Hasil diserahkan ke handler di thread
+ * pemanggil sesuai urutan task, berapa pun worker-nya, jadi CSV tetap deterministik. Begitu juga
+ * keluaran konsol: tulisan ke System.out dari thread worker ditampung per run dan dicetak tepat
+ * sebelum hasil run itu diserahkan ke handler.
+ *
+ * Jumlah worker: -Dsweep.workers=N (bawaan 1 = berurutan di classloader pemanggil seperti semula,
+ * 0 = semua core). Jika JVM ini menjalankan {@link FarmCoordinator}, run dikirim ke worker jarak
+ * jauh dan urutan hasil tetap sama.
+ *
+ * Progres sweep (run selesai, run/menit, ETA, run per thread) dilaporkan ke {@link Telemetry} bila
+ * -Dtelemetry.port atau -Dtelemetry.logSec diatur.
+ */
+public final class SweepExecutor implements AutoCloseable {
+
+    private static final int WORKERS = Integer.getInteger("sweep.workers", 1);
+    // thread executor terisolasi yang menganggur selama ini berhenti dan classloader-nya ditutup
+    private static final long ISOLATED_IDLE_SEC = 60;
+
+    /** Penerima hasil run ke-index, dipanggil berurutan. */
+    public interface ResultHandler {
+        void accept(int index, double[] result) throws Exception;
+    }
+
+    private final String className;
+    private final String methodName;
+    private final int workers;
+    private final ExecutorService pool;
+    private final FarmCoordinator farm;
+    private final boolean nested; // isolated(): sweep di dalam run lain, tidak dilaporkan ke Telemetry
+    private final List<URLClassLoader> loaders = new ArrayList<>();
+    private final ThreadLocal<Method> isolated;
+    private final ThreadLocal<URLClassLoader> ownLoader = new ThreadLocal<>();
+
+    /** Worker dari -Dsweep.workers, atau farm bila koordinator aktif. */
+    public SweepExecutor(String className, String methodName) {
+        this(className, methodName, workers(), FarmCoordinator.active());
+    }
+
+    /** Selalu lokal dengan jumlah worker tertentu. */
+    public SweepExecutor(String className, String methodName, int workers) {
+        this(className, methodName, workers, null, false);
+    }
+
+    private SweepExecutor(String className, String methodName, int workers, FarmCoordinator farm) {
+        this(className, methodName, workers, farm, false);
+    }
+
+    private SweepExecutor(String className, String methodName, int workers, FarmCoordinator farm, boolean isolate) {
+        this.className = className;
+        this.methodName = methodName;
+        this.farm = farm;
+        this.nested = isolate;
+        this.workers = Math.max(1, workers);
+        this.pool = isolate ? isolatedPool(this.workers)
+                : (farm == null && this.workers > 1) ? Executors.newFixedThreadPool(this.workers) : null;
+        if (pool != null && RunOutput.OWNER) RunOutput.install();
+        this.isolated = ThreadLocal.withInitial(this::loadIsolated);
+    }
+
+    /**
+     * Lokal dan selalu di classloader terisolasi, juga dengan satu worker: untuk simulasi yang
+     * dijalankan dari dalam run lain yang CloudSim-nya sedang terpakai. Thread-nya daemon dan
+     * berhenti (classloader-nya ditutup) setelah menganggur, jadi executor ini boleh dipakai ulang
+     * lintas run tanpa ditutup.
+     */
+    static SweepExecutor isolated(String className, String methodName, int workers) {
+        return new SweepExecutor(className, methodName, workers, null, true);
+    }
+
+    /** Jumlah worker dari -Dsweep.workers. */
+    public static int workers() {
+        return WORKERS == 0 ? Runtime.getRuntime().availableProcessors() : WORKERS;
+    }
+
+    public int parallelism() {
+        return workers;
+    }
+
+    public void run(List<Object[]> runs, ResultHandler handler) throws Exception {
+        run(runs, null, null, handler);
+    }
+
+    /**
+     * Seperti {@link #run(List, ResultHandler)}, tetapi run ke-i yang kuncinya keys.get(i) sudah ada
+     * di checkpoint tidak dijalankan lagi, dan run lain dicatat ke checkpoint begitu selesai (tanpa
+     * menunggu gilirannya di handler).
+     */
+    public void run(List<Object[]> runs, List<String> keys, SweepCheckpoint checkpoint, ResultHandler handler)
+            throws Exception {
+        Telemetry.Sweep progress = Telemetry.ENABLED && !nested
+                ? Telemetry.sweepStarted(sweepName(runs), runs.size(), cached(keys, checkpoint)) : null;
+        try {
+            run(runs, keys, checkpoint, handler, progress);
+        } finally {
+            if (progress != null) Telemetry.sweepFinished(progress);
+        }
+    }
+
+    private void run(List<Object[]> runs, List<String> keys, SweepCheckpoint checkpoint, ResultHandler handler,
+            Telemetry.Sweep progress) throws Exception {
+        List<Future<double[]>> futures = new ArrayList<>(runs.size());
+        byte[][] output = new byte[runs.size()][]; // keluaran konsol run pool, diisi sebelum future selesai
+        if (farm == null && pool == null) {
+            // state statis CloudSim di classloader pemanggil hanya cukup untuk satu simulasi
+            Method m = find(Class.forName(className), methodName);
+            for (int i = 0; i < runs.size(); i++) {
+                double[] result;
+                if (checkpoint != null && checkpoint.contains(keys.get(i))) {
+                    result = checkpoint.get(keys.get(i));
+                } else {
+                    synchronized (SweepExecutor.class) {
+                        result = invoke(m, runs.get(i), progress);
+                    }
+                    if (checkpoint != null) checkpoint.record(keys.get(i), result);
+                }
+                handler.accept(i, result);
+            }
+            return;
+        }
+
+        for (int i = 0; i < runs.size(); i++) {
+            Object[] args = runs.get(i);
+            String key = (checkpoint != null) ? keys.get(i) : null;
+            if (key != null && checkpoint.contains(key)) {
+                futures.add(CompletableFuture.completedFuture(checkpoint.get(key)));
+            } else if (farm != null) {
+                CompletableFuture<double[]> f = farm.submit(className, methodName, args);
+                if (key != null) f.thenAccept(r -> recordQuietly(checkpoint, key, r));
+                if (progress != null) f.thenRun(() -> Telemetry.remoteRunFinished(progress));
+                futures.add(f);
+            } else {
+                int index = i;
+                futures.add(pool.submit(() -> {
+                    RunOutput.begin();
+                    try {
+                        double[] r = invoke(isolated.get(), args, progress);
+                        if (key != null) checkpoint.record(key, r);
+                        return r;
+                    } finally {
+                        output[index] = RunOutput.end();
+                    }
+                }));
+            }
+        }
+
+        try {
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    double[] r;
+                    try {
+                        r = futures.get(i).get();
+                    } finally {
+                        RunOutput.print(output[i]);
+                    }
+                    handler.accept(i, r);
+                } catch (ExecutionException e) {
+                    Throwable c = e.getCause();
+                    throw (c instanceof Exception) ? (Exception) c : new IllegalStateException("Run sweep gagal", c);
+                }
+            }
+        } finally {
+            for (Future<double[]> f : futures) f.cancel(true);
+        }
+    }
+
+    // thread daemon; saat thread berhenti karena menganggur, classloader-nya ikut dilepas
+    private ExecutorService isolatedPool(int n) {
+        ThreadPoolExecutor p = new ThreadPoolExecutor(n, n, ISOLATED_IDLE_SEC, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), task -> {
+                    Thread t = new Thread(() -> {
+                        try {
+                            task.run();
+                        } finally {
+                            releaseLoader();
+                        }
+                    });
+                    t.setDaemon(true);
+                    return t;
+                });
+        p.allowCoreThreadTimeOut(true);
+        return p;
+    }
+
+    private void releaseLoader() {
+        URLClassLoader loader = ownLoader.get();
+        if (loader == null) return;
+        ownLoader.remove();
+        synchronized (loaders) {
+            loaders.remove(loader);
+        }
+        try {
+            loader.close();
+        } catch (IOException ignored) {
+            // hanya melepas berkas jar; kelasnya tidak dipakai lagi
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (pool != null) pool.shutdownNow();
+        synchronized (loaders) {
+            for (URLClassLoader l : loaders) l.close();
+            loaders.clear();
+        }
+    }
+
+    // ===== Keluaran konsol run pool =====
+    private static final class RunOutput extends OutputStream {
+        // Hanya salinan kelas di classloader aplikasi yang memasang System.out; sweep bersarang di
+        // classloader worker (mis. top-k) menulis langsung dan tertampung oleh run pemanggilnya.
+        static final boolean OWNER = SweepExecutor.class.getClassLoader() == ClassLoader.getSystemClassLoader();
+        private static final ThreadLocal<ByteArrayOutputStream> CAPTURE = new ThreadLocal<>();
+        private static boolean installed;
+
+        private final PrintStream console;
+
+        private RunOutput(PrintStream console) {
+            this.console = console;
+        }
+
+        static synchronized void install() {
+            if (installed) return;
+            installed = true;
+            System.setOut(new PrintStream(new RunOutput(System.out), true));
+        }
+
+        static void begin() {
+            if (OWNER) CAPTURE.set(new ByteArrayOutputStream());
+        }
+
+        static byte[] end() {
+            ByteArrayOutputStream buf = CAPTURE.get();
+            CAPTURE.remove();
+            return buf == null ? null : buf.toByteArray();
+        }
+
+        static void print(byte[] text) {
+            if (text == null || text.length == 0) return;
+            System.out.write(text, 0, text.length);
+            System.out.flush();
+        }
+
+        @Override
+        public void write(int b) {
+            ByteArrayOutputStream buf = CAPTURE.get();
+            if (buf != null) buf.write(b);
+            else console.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            ByteArrayOutputStream buf = CAPTURE.get();
+            if (buf != null) buf.write(b, off, len);
+            else console.write(b, off, len);
+        }
+
+        @Override
+        public void flush() {
+            if (CAPTURE.get() == null) console.flush();
+        }
+    }
+
+    private static double[] invoke(Method m, Object[] args, Telemetry.Sweep progress) throws Exception {
+        if (progress == null) return invoke(m, args);
+        Telemetry.runStarted(progress, args);
+        try {
+            return invoke(m, args);
+        } finally {
+            Telemetry.runFinished(progress);
+        }
+    }
+
+    // nama kelas run, ditambah dataset bila semua run memakai dataset yang sama
+    private String sweepName(List<Object[]> runs) {
+        String name = className.substring(className.lastIndexOf('.') + 1);
+        if (runs.isEmpty() || runs.get(0).length == 0) return name;
+        Object first = runs.get(0)[0];
+        if (!(first instanceof String)) return name;
+        for (Object[] r : runs) {
+            if (r.length == 0 || !first.equals(r[0])) return name;
+        }
+        return name + ":" + first;
+    }
+
+    private static int cached(List<String> keys, SweepCheckpoint checkpoint) {
+        if (checkpoint == null) return 0;
+        int n = 0;
+        for (String k : keys) if (checkpoint.contains(k)) n++;
+        return n;
+    }
+
+    private static void recordQuietly(SweepCheckpoint checkpoint, String key, double[] result) {
+        try {
+            checkpoint.record(key, result);
+        } catch (IOException e) {
+            System.out.println("Checkpoint gagal ditulis untuk " + key + ": " + e.getMessage());
+        }
+    }
+
+    // satu classloader per thread worker, dibuat saat run pertama di thread itu
+    private Method loadIsolated() {
+        try {
+            String[] entries = System.getProperty("java.class.path").split(File.pathSeparator);
+            URL[] urls = new URL[entries.length];
+            for (int i = 0; i < entries.length; i++) urls[i] = Paths.get(entries[i]).toUri().toURL();
+            URLClassLoader loader = new URLClassLoader("sweep-" + Thread.currentThread().getName(), urls,
+                    ClassLoader.getPlatformClassLoader());
+            synchronized (loaders) {
+                loaders.add(loader);
+            }
+            ownLoader.set(loader);
+            if (Telemetry.ENABLED) {
+                // iterasi PSO di salinan Telemetry milik loader ini diteruskan ke Telemetry pemanggil
+                Consumer<Object[]> target = Telemetry::receive;
+                Method forward = loader.loadClass(Telemetry.class.getName()).getDeclaredMethod("forwardTo", Consumer.class);
+                forward.setAccessible(true);
+                forward.invoke(null, target);
+            }
+            return find(Class.forName(className, true, loader), methodName);
+        } catch (MalformedURLException | ReflectiveOperationException e) {
+            throw new IllegalStateException("Tidak bisa memuat " + className + " terisolasi", e);
+        }
+    }
+
+    static Method find(Class<?> c, String methodName) {
+        for (Method m : c.getDeclaredMethods()) {
+            if (m.getName().equals(methodName) && m.getReturnType() == double[].class) {
+                m.setAccessible(true);
+                return m;
+            }
+        }
+        throw new IllegalArgumentException("Method double[] " + methodName + "(...) tidak ada di " + c.getName());
+    }
+
+    static double[] invoke(Method m, Object[] args) throws Exception {
+        try {
+            return (double[]) m.invoke(null, args);
+        } catch (InvocationTargetException e) {
+            Throwable c = e.getCause();
+            throw (c instanceof Exception) ? (Exception) c : new IllegalStateException(c);
+        }
+    }
+}
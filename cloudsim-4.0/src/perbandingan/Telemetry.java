@@ -0,0 +1,358 @@
+package perbandingan;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Progres sweep yang sedang berjalan, untuk sweep berjam-jam: dataset/percobaan per thread,
+ * iterasi dan lintasan gbest PSO, run per menit, ETA, dan heap.
+ *
+ *   -Dtelemetry.port=N     HTTP di 127.0.0.1:N (JDK httpserver, tanpa layanan luar):
+ *                            /          ringkasan teks
+ *                            /status    JSON, termasuk lintasan gbest
+ *                            /metrics   format teks Prometheus
+ *   -Dtelemetry.logSec=S   ringkasan yang sama ke konsol tiap S detik
+ *
+ * Tanpa keduanya {@link #ENABLED} = false dan semua hook (di {@link SweepExecutor} dan
+ * {@link TerminationPolicy.Run}) dijaga konstanta itu, jadi tidak ada thread, server, atau alokasi.
+ *
+ * Run di worker SweepExecutor memakai salinan kelas ini di classloader terisolasinya; salinan itu
+ * meneruskan iterasi PSO ke sini lewat {@link #forwardTo}. Run yang dikirim ke farm hanya terlihat
+ * jumlah selesainya (iterasi PSO ada di JVM worker). Sweep bersarang di dalam run (simulasi top-k)
+ * tidak dilaporkan. Tiap sweep diberi nomor urut agar labelnya unik, dan hanya
+ * {@value #FINISHED_KEPT} sweep selesai terakhir yang tetap ditampilkan.
+ */
+final class Telemetry {
+
+    private static final int PORT = Integer.getInteger("telemetry.port", 0);
+    private static final int LOG_SEC = Integer.getInteger("telemetry.logSec", 0);
+    static final boolean ENABLED = PORT > 0 || LOG_SEC > 0;
+    private static final int TRAJECTORY = 1000; // titik gbest terakhir yang disimpan per run
+    private static final int FINISHED_KEPT = 5;
+
+    /** Satu pemanggilan SweepExecutor.run. */
+    static final class Sweep {
+        final String name;   // unik: nama sweep + " #" + nomor urut
+        final int total;
+        final int cached;
+        final long startNanos = System.nanoTime();
+        final AtomicInteger done = new AtomicInteger();
+        volatile long finishNanos;
+        volatile boolean finished;
+
+        Sweep(String name, int total, int cached) {
+            this.name = name;
+            this.total = total;
+            this.cached = cached;
+        }
+
+        /** Laju dibekukan saat sweep selesai. */
+        double runsPerMinute() {
+            double min = ((finished ? finishNanos : System.nanoTime()) - startNanos) / 60e9;
+            return min > 0 ? done.get() / min : 0;
+        }
+
+        /** Detik tersisa, atau -1 jika belum ada run selesai. */
+        double etaSeconds() {
+            double rate = runsPerMinute();
+            int left = total - cached - done.get();
+            if (finished || left <= 0) return 0;
+            return rate > 0 ? left / rate * 60 : -1;
+        }
+    }
+
+    /** Run yang sedang dikerjakan satu thread. */
+    private static final class Run {
+        final String sweep;
+        final String dataset;
+        final String trial;
+        final long startNanos = System.nanoTime();
+        final double[] gbest = new double[TRAJECTORY]; // ring
+        volatile int iteration;
+        volatile int points;
+
+        Run(String sweep, String dataset, String trial) {
+            this.sweep = sweep;
+            this.dataset = dataset;
+            this.trial = trial;
+        }
+
+        /** Iterasi 0 = solusi awal PSO baru; lintasan dimulai ulang. */
+        synchronized void iteration(int it, double value) {
+            if (it == 0) points = 0;
+            gbest[points % TRAJECTORY] = value;
+            points++;
+            iteration = it;
+        }
+
+        double lastGbest() {
+            int p = points;
+            return p == 0 ? Double.NaN : gbest[(p - 1) % TRAJECTORY];
+        }
+
+        synchronized double[] trajectory() {
+            int n = Math.min(points, TRAJECTORY);
+            double[] t = new double[n];
+            for (int i = 0; i < n; i++) t[i] = gbest[(points - n + i) % TRAJECTORY];
+            return t;
+        }
+    }
+
+    private static final List<Sweep> SWEEPS = new CopyOnWriteArrayList<>();
+    private static final Map<Thread, Run> RUNS = new ConcurrentHashMap<>();
+    private static final long START_NANOS = System.nanoTime();
+    private static volatile Consumer<Object[]> forward; // diisi di classloader worker
+    private static boolean started;
+    private static int sequence;
+
+    private Telemetry() {}
+
+    // ===== Hook =====
+    static synchronized Sweep sweepStarted(String name, int total, int cached) {
+        startOnce();
+        Sweep s = new Sweep(name + " #" + (++sequence), total, cached);
+        SWEEPS.add(s);
+        return s;
+    }
+
+    static synchronized void sweepFinished(Sweep s) {
+        s.finishNanos = System.nanoTime();
+        s.finished = true;
+        // buang sweep selesai yang paling lama
+        int finished = 0;
+        for (int i = SWEEPS.size() - 1; i >= 0; i--) {
+            if (SWEEPS.get(i).finished && ++finished > FINISHED_KEPT) SWEEPS.remove(i);
+        }
+    }
+
+    /** Run args mulai di thread ini; args[0] = dataset (jika String), argumen terakhir = percobaan (jika Integer). */
+    static void runStarted(Sweep s, Object[] args) {
+        Object last = args.length > 1 ? args[args.length - 1] : null;
+        String dataset = args.length > 0 && args[0] instanceof String ? (String) args[0] : "-";
+        String trial = last instanceof Integer ? last.toString() : "-";
+        RUNS.put(Thread.currentThread(), new Run(s.name, dataset, trial));
+    }
+
+    static void runFinished(Sweep s) {
+        RUNS.remove(Thread.currentThread());
+        s.done.incrementAndGet();
+    }
+
+    /** Farm: run selesai di JVM lain. */
+    static void remoteRunFinished(Sweep s) {
+        s.done.incrementAndGet();
+    }
+
+    /** Akhir iterasi PSO (dipanggil TerminationPolicy.Run.after). */
+    static void psoIteration(int iteration, double gbest) {
+        Consumer<Object[]> f = forward;
+        if (f != null) {
+            f.accept(new Object[]{iteration, gbest});
+            return;
+        }
+        receive(new Object[]{iteration, gbest});
+    }
+
+    /** Dipanggil lewat refleksi oleh SweepExecutor pada salinan kelas ini di classloader worker. */
+    static void forwardTo(Consumer<Object[]> target) {
+        forward = target;
+    }
+
+    /** Penerima iterasi dari salinan di classloader worker (thread yang sama dengan run). */
+    static void receive(Object[] msg) {
+        Run r = RUNS.computeIfAbsent(Thread.currentThread(), t -> new Run("-", "-", "-"));
+        r.iteration((Integer) msg[0], (Double) msg[1]);
+    }
+
+    // ===== Server & log =====
+    private static void startOnce() {
+        // salinan di classloader worker (sweep bersarang, mis. top-k): server & log milik pemanggil
+        if (started || forward != null) return;
+        started = true;
+        if (LOG_SEC > 0) {
+            Thread log = new Thread(() -> {
+                while (true) {
+                    try {
+                        Thread.sleep(LOG_SEC * 1000L);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (String line : summary().split("\n")) System.out.println("[telemetri] " + line);
+                }
+            }, "telemetry-log");
+            log.setDaemon(true);
+            log.start();
+        }
+        if (PORT > 0) {
+            // dispatcher HttpServer mewarisi status daemon thread yang memanggil start()
+            Thread t = new Thread(Telemetry::startServer, "telemetry-start");
+            t.setDaemon(true);
+            t.start();
+            try {
+                t.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static void startServer() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), PORT), 0);
+            server.createContext("/", ex -> reply(ex, "/".equals(ex.getRequestURI().getPath()) ? summary() : null,
+                    "text/plain; charset=utf-8"));
+            server.createContext("/status", ex -> reply(ex, json(), "application/json"));
+            server.createContext("/metrics", ex -> reply(ex, prometheus(), "text/plain; version=0.0.4; charset=utf-8"));
+            server.start();
+            System.out.println("Telemetri di http://127.0.0.1:" + server.getAddress().getPort() + "/ (/status, /metrics)");
+        } catch (IOException e) {
+            System.out.println("Telemetri HTTP gagal dimulai di port " + PORT + ": " + e.getMessage());
+        }
+    }
+
+    private static void reply(HttpExchange ex, String body, String type) throws IOException {
+        try (HttpExchange e = ex) {
+            if (body == null) {
+                e.sendResponseHeaders(404, -1);
+                return;
+            }
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            e.getResponseHeaders().set("Content-Type", type);
+            e.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = e.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+    }
+
+    // ===== Tampilan =====
+    static String summary() {
+        StringBuilder sb = new StringBuilder();
+        for (Sweep s : SWEEPS) {
+            sb.append(String.format(Locale.US, "%s: %d/%d run%s, %.2f run/menit, ETA %s%s%n",
+                    s.name, s.cached + s.done.get(), s.total,
+                    s.cached > 0 ? " (" + s.cached + " dari checkpoint)" : "",
+                    s.runsPerMinute(), formatEta(s.etaSeconds()), s.finished ? " [selesai]" : ""));
+        }
+        for (Map.Entry<Thread, Run> e : RUNS.entrySet()) {
+            Run r = e.getValue();
+            sb.append(String.format(Locale.US, "  %s: %s percobaan %s, %.0f s, iterasi PSO %d, gbest %.4f%n",
+                    e.getKey().getName(), r.dataset, r.trial, (System.nanoTime() - r.startNanos) / 1e9,
+                    r.iteration, r.lastGbest()));
+        }
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        sb.append(String.format(Locale.US, "heap %d/%d MB", heap.getUsed() >> 20, heap.getMax() >> 20));
+        return sb.toString();
+    }
+
+    private static String formatEta(double sec) {
+        if (sec < 0) return "?";
+        long s = Math.round(sec);
+        return (s >= 3600 ? (s / 3600) + "j " : "") + ((s % 3600) / 60) + "m " + (s % 60) + "d";
+    }
+
+    static String json() {
+        StringBuilder sb = new StringBuilder("{\"uptimeSec\":");
+        sb.append(num((System.nanoTime() - START_NANOS) / 1e9));
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        sb.append(",\"heap\":{\"used\":").append(heap.getUsed())
+                .append(",\"committed\":").append(heap.getCommitted())
+                .append(",\"max\":").append(heap.getMax()).append('}');
+        sb.append(",\"sweeps\":[");
+        String sep = "";
+        for (Sweep s : SWEEPS) {
+            sb.append(sep).append("{\"name\":").append(str(s.name))
+                    .append(",\"total\":").append(s.total)
+                    .append(",\"checkpointed\":").append(s.cached)
+                    .append(",\"done\":").append(s.done.get())
+                    .append(",\"runsPerMinute\":").append(num(s.runsPerMinute()))
+                    .append(",\"etaSec\":").append(num(s.etaSeconds()))
+                    .append(",\"finished\":").append(s.finished).append('}');
+            sep = ",";
+        }
+        sb.append("],\"runs\":[");
+        sep = "";
+        for (Map.Entry<Thread, Run> e : RUNS.entrySet()) {
+            Run r = e.getValue();
+            sb.append(sep).append("{\"thread\":").append(str(e.getKey().getName()))
+                    .append(",\"sweep\":").append(str(r.sweep))
+                    .append(",\"dataset\":").append(str(r.dataset))
+                    .append(",\"trial\":").append(str(r.trial))
+                    .append(",\"elapsedSec\":").append(num((System.nanoTime() - r.startNanos) / 1e9))
+                    .append(",\"psoIteration\":").append(r.iteration)
+                    .append(",\"gbest\":").append(num(r.lastGbest()))
+                    .append(",\"gbestTrajectory\":[");
+            double[] t = r.trajectory();
+            for (int i = 0; i < t.length; i++) sb.append(i > 0 ? "," : "").append(num(t[i]));
+            sb.append("]}");
+            sep = ",";
+        }
+        return sb.append("]}").toString();
+    }
+
+    static String prometheus() {
+        StringBuilder sb = new StringBuilder();
+        gauge(sb, "soka_sweep_runs", "Jumlah run dalam sweep");
+        for (Sweep s : SWEEPS) sample(sb, "soka_sweep_runs", "sweep", s.name, s.total);
+        gauge(sb, "soka_sweep_runs_done", "Run selesai, termasuk dari checkpoint");
+        for (Sweep s : SWEEPS) sample(sb, "soka_sweep_runs_done", "sweep", s.name, s.cached + s.done.get());
+        gauge(sb, "soka_sweep_runs_per_minute", "Run per menit sejak sweep dimulai");
+        for (Sweep s : SWEEPS) sample(sb, "soka_sweep_runs_per_minute", "sweep", s.name, s.runsPerMinute());
+        gauge(sb, "soka_sweep_eta_seconds", "Perkiraan sisa waktu sweep (-1 = belum diketahui)");
+        for (Sweep s : SWEEPS) sample(sb, "soka_sweep_eta_seconds", "sweep", s.name, s.etaSeconds());
+
+        List<Map.Entry<Thread, Run>> runs = new ArrayList<>(RUNS.entrySet());
+        gauge(sb, "soka_run_pso_iteration", "Iterasi PSO run yang sedang berjalan");
+        for (Map.Entry<Thread, Run> e : runs) sample(sb, "soka_run_pso_iteration", "thread", e.getKey().getName(), e.getValue().iteration);
+        gauge(sb, "soka_run_pso_gbest", "Makespan gbest PSO run yang sedang berjalan");
+        for (Map.Entry<Thread, Run> e : runs) sample(sb, "soka_run_pso_gbest", "thread", e.getKey().getName(), e.getValue().lastGbest());
+
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        gauge(sb, "soka_jvm_heap_used_bytes", "Heap terpakai");
+        sb.append("soka_jvm_heap_used_bytes ").append(heap.getUsed()).append('\n');
+        gauge(sb, "soka_jvm_heap_max_bytes", "Batas heap");
+        sb.append("soka_jvm_heap_max_bytes ").append(heap.getMax()).append('\n');
+        return sb.toString();
+    }
+
+    private static void gauge(StringBuilder sb, String name, String help) {
+        sb.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        sb.append("# TYPE ").append(name).append(" gauge\n");
+    }
+
+    private static void sample(StringBuilder sb, String name, String label, String value, double v) {
+        String escaped = value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+        sb.append(name).append('{').append(label).append("=\"").append(escaped).append("\"} ")
+                .append(Double.isNaN(v) ? "NaN" : num(v)).append('\n');
+    }
+
+    private static String num(double v) {
+        return Double.isFinite(v) ? Double.toString(v) : "null";
+    }
+
+    private static String str(String s) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (char ch : s.toCharArray()) {
+            if (ch == '"' || ch == '\\') sb.append('\\').append(ch);
+            else if (ch < 0x20) sb.append(String.format(Locale.ROOT, "\\u%04x", (int) ch));
+            else sb.append(ch);
+        }
+        return sb.append('"').toString();
+    }
+}
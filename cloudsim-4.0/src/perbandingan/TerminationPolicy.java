@@ -0,0 +1,133 @@
+package perbandingan;
+
+/**
+ * Kriteria berhenti PSO (anytime): batas iterasi, anggaran waktu, stagnasi gbest,
+ * dan target celah terhadap batas bawah makespan. Kriteria bernilai 0 tidak aktif.
+ *
+ * Batas bawah: max(total MI / total MIPS, MI terbesar / MIPS tercepat).
+ * Anggaran waktu membuat hasil bergantung kecepatan mesin; kriteria lain deterministik.
+ */
+final class TerminationPolicy {
+
+    enum Reason { ITERATIONS, TIME_BUDGET, STAGNATION, TARGET_GAP }
+
+    final int maxIterations;
+    final long timeBudgetMs;
+    final int stagnationLimit;
+    final double targetGap;
+
+    TerminationPolicy(int maxIterations, long timeBudgetMs, int stagnationLimit, double targetGap) {
+        this.maxIterations = maxIterations;
+        this.timeBudgetMs = timeBudgetMs;
+        this.stagnationLimit = stagnationLimit;
+        this.targetGap = targetGap;
+    }
+
+    /** Hanya batas iterasi, perilaku PSO lama. */
+    static TerminationPolicy iterations(int maxIterations) {
+        return new TerminationPolicy(maxIterations, 0, 0, 0);
+    }
+
+    static double lowerBound(long[] lengths, double[] vmMips) {
+        double totalMi = 0, maxLen = 0, totalMips = 0, maxMips = 0;
+        for (long l : lengths) {
+            totalMi += l;
+            if (l > maxLen) maxLen = l;
+        }
+        for (double mips : vmMips) {
+            totalMips += mips;
+            if (mips > maxMips) maxMips = mips;
+        }
+        if (totalMips <= 0) return 0;
+        return Math.max(totalMi / totalMips, maxLen / maxMips);
+    }
+
+    static double gap(double makespan, double lowerBound) {
+        return lowerBound > 0 ? (makespan - lowerBound) / lowerBound : 0;
+    }
+
+    Run start(double lowerBound) {
+        return new Run(lowerBound);
+    }
+
+    /**
+     * State satu eksekusi PSO; panggil {@link #after} tiap akhir iterasi. Tiap pemanggilan after
+     * juga menjadi event JFR soka.PsoIteration (gbest dan waktu iterasi) dan, bila aktif, titik
+     * lintasan gbest di {@link Telemetry}.
+     */
+    final class Run {
+        private final double lowerBound;
+        private final long startNanos = System.nanoTime();
+        private double lastBest = Double.POSITIVE_INFINITY;
+        private int sinceImprovement;
+        private int iterations;
+        private long iterationStart = startNanos;
+        private PhaseTimer.PsoIterationEvent iterationEvent = beginIteration();
+
+        private Run(double lowerBound) {
+            this.lowerBound = lowerBound;
+        }
+
+        /** Dicek sebelum iterasi pertama: solusi awal mungkin sudah cukup dekat batas bawah. */
+        Reason initial(double gbestVal) {
+            iterationStart = System.nanoTime();
+            iterationEvent = beginIteration();
+            lastBest = gbestVal;
+            if (Telemetry.ENABLED) Telemetry.psoIteration(0, gbestVal);
+            if (targetGap > 0 && gap(gbestVal, lowerBound) <= targetGap) return Reason.TARGET_GAP;
+            if (maxIterations <= 0) return Reason.ITERATIONS;
+            return null;
+        }
+
+        /** @return alasan berhenti, atau null jika PSO lanjut */
+        Reason after(double gbestVal) {
+            return after(gbestVal, 1);
+        }
+
+        /** Versi untuk beberapa iterasi sekaligus (mis. satu epoch model pulau). */
+        Reason after(double gbestVal, int steps) {
+            iterations += steps;
+            long now = System.nanoTime();
+            iterationEvent.end();
+            if (iterationEvent.shouldCommit()) {
+                iterationEvent.iteration = iterations;
+                iterationEvent.steps = steps;
+                iterationEvent.gbest = gbestVal;
+                iterationEvent.iterationMs = (now - iterationStart) / 1e6;
+                iterationEvent.commit();
+            }
+            iterationStart = now;
+            iterationEvent = beginIteration();
+            if (Telemetry.ENABLED) Telemetry.psoIteration(iterations, gbestVal);
+            if (gbestVal < lastBest) {
+                lastBest = gbestVal;
+                sinceImprovement = 0;
+            } else {
+                sinceImprovement += steps;
+            }
+            if (targetGap > 0 && gap(gbestVal, lowerBound) <= targetGap) return Reason.TARGET_GAP;
+            if (iterations >= maxIterations) return Reason.ITERATIONS;
+            if (stagnationLimit > 0 && sinceImprovement >= stagnationLimit) return Reason.STAGNATION;
+            if (timeBudgetMs > 0 && elapsedMs() >= timeBudgetMs) return Reason.TIME_BUDGET;
+            return null;
+        }
+
+        private PhaseTimer.PsoIterationEvent beginIteration() {
+            PhaseTimer.PsoIterationEvent e = new PhaseTimer.PsoIterationEvent();
+            e.begin();
+            return e;
+        }
+
+        int iterations() {
+            return iterations;
+        }
+
+        double elapsedMs() {
+            return (System.nanoTime() - startNanos) / 1e6;
+        }
+
+        PsoResult finish(int[] mapping, double gbestVal, Reason reason) {
+            return new PsoResult(mapping, gbestVal, iterations, reason, lowerBound, elapsedMs());
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package perbandingan;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Seleksi akhir PSO dengan simulasi: tiap kandidat di {@link CandidateArchive} disimulasikan
+ * dengan CloudSim penuh (datacenter, host time-shared, penundaan submit) dan yang terbaik menurut
+ * hasil simulasi dipilih (makespan, lalu rata-rata waktu selesai), bukan menurut surrogate
+ * evalMakespan.
+ *
+ * CloudSim menyimpan state simulasi secara statis dan CloudSim percobaan ini sedang terpakai saat
+ * PSO berjalan, jadi kandidat dijalankan lewat {@link SweepExecutor#isolated} (satu classloader per
+ * worker, -Dpso.topKThreads worker). Executor itu dibuat sekali per classloader pemanggil dan dipakai
+ * ulang oleh semua percobaan, sehingga biaya memuat CloudSim hanya dibayar di percobaan pertama.
+ * {@link AnalyticSimulation} tidak dipakai: dengan VM dan
+ * cloudlet satu PE makespan-nya selalu surrogate + waktu mulai, sehingga peringkatnya sama.
+ */
+final class TopKRefinement {
+
+    private static SweepExecutor simulator; // dipakai ulang lintas percobaan, thread-nya daemon
+
+    private TopKRefinement() {}
+
+    /** Ringkasan galat surrogate terhadap simulasi untuk semua kandidat. */
+    static final class Report {
+        final int candidates;
+        final int chosenRank;          // peringkat surrogate kandidat terpilih (0 = gbest)
+        final double meanAbsError;     // rata-rata |simulasi - surrogate| / simulasi
+        final double maxAbsError;
+        final double spearman;         // korelasi peringkat surrogate vs makespan simulasi
+        final double gbestMakespan;    // makespan simulasi gbest surrogate
+        final double chosenMakespan;
+        final double gbestAvgFinish;
+        final double chosenAvgFinish;
+        final double elapsedMs;
+
+        Report(int candidates, int chosenRank, double meanAbsError, double maxAbsError, double spearman,
+               double gbestMakespan, double chosenMakespan, double gbestAvgFinish, double chosenAvgFinish,
+               double elapsedMs) {
+            this.candidates = candidates;
+            this.chosenRank = chosenRank;
+            this.meanAbsError = meanAbsError;
+            this.maxAbsError = maxAbsError;
+            this.spearman = spearman;
+            this.gbestMakespan = gbestMakespan;
+            this.chosenMakespan = chosenMakespan;
+            this.gbestAvgFinish = gbestAvgFinish;
+            this.chosenAvgFinish = chosenAvgFinish;
+            this.elapsedMs = elapsedMs;
+        }
+
+        String summary() {
+            return String.format(Locale.US,
+                    "Top-%d disimulasikan (%.1f ms): galat surrogate rata-rata %.4f%%, maks %.4f%%, Spearman=%.4f; "
+                            + "terpilih peringkat surrogate #%d, makespan %.4f (gbest %.4f), avg finish %.4f (gbest %.4f)",
+                    candidates, elapsedMs, meanAbsError * 100, maxAbsError * 100, spearman,
+                    chosenRank + 1, chosenMakespan, gbestMakespan, chosenAvgFinish, gbestAvgFinish);
+        }
+    }
+
+    static PsoResult refine(PsoResult result, CandidateArchive archive, long[] lengths, double[] vmMips, int threads)
+            throws Exception {
+        long t0 = System.nanoTime();
+        archive.offer(result.makespan, result.mapping); // gbest selalu ikut dinilai
+        int k = archive.size();
+        double[] makespan = new double[k];
+        double[] avgFinish = new double[k];
+
+        List<Object[]> runs = new ArrayList<>(k);
+        for (int r = 0; r < k; r++) runs.add(new Object[]{lengths, vmMips, archive.mapping(r)});
+        simulator(threads).run(runs, (rank, sim) -> {
+            makespan[rank] = sim[0];
+            avgFinish[rank] = sim[1];
+        });
+
+        int best = 0;
+        double sumErr = 0, maxErr = 0;
+        for (int r = 0; r < k; r++) {
+            double err = Math.abs(makespan[r] - archive.value(r)) / makespan[r];
+            sumErr += err;
+            maxErr = Math.max(maxErr, err);
+            if (makespan[r] < makespan[best] || (makespan[r] == makespan[best] && avgFinish[r] < avgFinish[best])) best = r;
+        }
+        // arsip urut naik menurut surrogate, jadi peringkat surrogate = indeks
+        int gbest = 0;
+        for (int r = 0; r < k; r++) if (java.util.Arrays.equals(archive.mapping(r), result.mapping)) gbest = r;
+
+        Report report = new Report(k, best, sumErr / k, maxErr, spearman(makespan),
+                makespan[gbest], makespan[best], avgFinish[gbest], avgFinish[best], (System.nanoTime() - t0) / 1e6);
+        return result.refined(archive.mapping(best), archive.value(best), report);
+    }
+
+    private static synchronized SweepExecutor simulator(int threads) {
+        if (simulator == null) simulator = SweepExecutor.isolated(pso.class.getName(), "simulateCandidate", threads);
+        return simulator;
+    }
+
+    // korelasi peringkat antara indeks (peringkat surrogate) dan nilai simulasi, tanpa koreksi seri
+    private static double spearman(double[] simulated) {
+        int k = simulated.length;
+        if (k < 2) return 1.0;
+        Integer[] idx = new Integer[k];
+        for (int r = 0; r < k; r++) idx[r] = r;
+        java.util.Arrays.sort(idx, (a, b) -> Double.compare(simulated[a], simulated[b]));
+        double d2 = 0;
+        for (int simRank = 0; simRank < k; simRank++) {
+            double d = simRank - idx[simRank];
+            d2 += d * d;
+        }
+        return 1.0 - 6.0 * d2 / ((double) k * ((double) k * k - 1));
+    }
+}
@@ -0,0 +1,83 @@
+package perbandingan;
+
+/**
+ * Update diskret satu partikel PSO (-Dpso.kernel=legacy|fast).
+ *
+ * LEGACY: dua nextDouble() per cloudlet dan rantai if/else, urutan acak sama dengan hasil lama.
+ * FAST: satu kata acak 64-bit per cloudlet; 32 bit bawah memilih keep/pbest/gbest/acak,
+ * 32 bit atas menentukan mutasi. Kandidat pbest/gbest dibaca tanpa syarat lalu dipilih
+ * dengan ekspresi kondisional (cmov), nextInt(m) hanya dipanggil pada kejadian langka.
+ * Peluang tiap pilihan sama dengan LEGACY, dikuantisasi ke 2^-32.
+ */
+enum UpdateKernel {
+
+    LEGACY {
+        @Override
+        void update(PositionStore pos, int p, int pb, int gb, MakespanTracker f, PsoRandom r, int m) {
+            for (int i = 0, n = pos.n; i < n; i++) {
+                int prev = pos.get(p, i);
+                int next = prev;
+                double u = r.nextDouble();
+                if (u < pso.PSO_KEEP_PROB) {
+                    // pertahankan
+                } else if (u < pso.PSO_KEEP_PROB + pso.PSO_PBEST_PROB) {
+                    next = pos.get(pb, i);
+                } else if (u < pso.PSO_KEEP_PROB + pso.PSO_PBEST_PROB + pso.PSO_GBEST_PROB) {
+                    next = pos.get(gb, i);
+                } else {
+                    next = r.nextInt(m);
+                }
+                // mutasi kecil
+                if (r.nextDouble() < pso.PSO_MUTATION_PROB) {
+                    next = r.nextInt(m);
+                }
+                // hanya cloudlet yang pindah VM yang menyentuh fitness
+                if (next != prev) {
+                    pos.set(p, i, next);
+                    f.move(i, prev, next);
+                }
+            }
+        }
+    },
+
+    FAST {
+        @Override
+        void update(PositionStore pos, int p, int pb, int gb, MakespanTracker f, PsoRandom r, int m) {
+            final long tKeep = T_KEEP, tPbest = T_PBEST, tGbest = T_GBEST, tMut = T_MUTATION;
+            for (int i = 0, n = pos.n; i < n; i++) {
+                long w = r.nextLong();
+                long choice = w & 0xFFFFFFFFL;
+                long mutation = w >>> 32;
+
+                int prev = pos.get(p, i);
+                int fromPbest = pos.get(pb, i);
+                int fromGbest = pos.get(gb, i);
+                int next = choice < tKeep ? prev : (choice < tPbest ? fromPbest : fromGbest);
+                // cabang langka: sisa peluang (acak) atau mutasi
+                if (choice >= tGbest | mutation < tMut) next = r.nextInt(m);
+
+                if (next != prev) {
+                    pos.set(p, i, next);
+                    f.move(i, prev, next);
+                }
+            }
+        }
+    };
+
+    // ambang kumulatif dalam satuan 2^-32
+    static final long T_KEEP = threshold(pso.PSO_KEEP_PROB);
+    static final long T_PBEST = threshold(pso.PSO_KEEP_PROB + pso.PSO_PBEST_PROB);
+    static final long T_GBEST = threshold(pso.PSO_KEEP_PROB + pso.PSO_PBEST_PROB + pso.PSO_GBEST_PROB);
+    static final long T_MUTATION = threshold(pso.PSO_MUTATION_PROB);
+
+    abstract void update(PositionStore pos, int p, int pb, int gb, MakespanTracker f, PsoRandom r, int m);
+
+    static UpdateKernel of(String name) {
+        return valueOf(name.toUpperCase(java.util.Locale.ROOT));
+    }
+
+    private static long threshold(double prob) {
+        if (prob >= 1.0) return 1L << 32;
+        return Math.max(0L, Math.round(prob * 4294967296.0));
+    }
+}
@@ -4,11 +4,7 @@ import org.cloudbus.cloudsim.*;
 import org.cloudbus.cloudsim.core.CloudSim;
 import org.cloudbus.cloudsim.provisioners.*;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.io.PrintWriter;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -17,9 +13,9 @@ import java.util.*;
 public class pso {
 
     // Infrastruktur
-    private static final int NUM_DATACENTERS = 6;
-    private static final int HOSTS_PER_DC = 3;
-    private static final int VMS_PER_HOST = 3;
+    static final int NUM_DATACENTERS = 6;
+    static final int HOSTS_PER_DC = 3;
+    static final int VMS_PER_HOST = 3;
 
     // Host
     private static final int HOST_RAM_MB = 6144;
@@ -46,23 +42,65 @@ public class pso {
     private static final String OUTPUT_DIR = "hasil";
     private static final String CSV_HEADER =
             "Dataset,Trial,TotalCPUTime,TotalWaitTime,AverageStartTime,AverageExecTime,AverageFinishTime,Throughput,Makespan,ImbalanceDegree,ResourceUtilization,TotalEnergyConsumption";
+    private static final int BASE_COLUMNS = 10; // kolom nilai CSV_HEADER; persentil menyusul di jsonl/bin
 
     // Variasi antar percobaan
     private static final boolean VARIASI_VM_MIPS = true;
 
     // Parameter PSO
-    private static final int PSO_PARTICLES = 30;
-    private static final int PSO_ITERATIONS = 100;
-    private static final double PSO_KEEP_PROB = 0.4;
-    private static final double PSO_PBEST_PROB = 0.3;
-    private static final double PSO_GBEST_PROB = 0.3;
-    private static final double PSO_MUTATION_PROB = 0.02;
+    static final int PSO_PARTICLES = 30;
+    static final int PSO_ITERATIONS = 100;
+    static final double PSO_KEEP_PROB = 0.4;
+    static final double PSO_PBEST_PROB = 0.3;
+    static final double PSO_GBEST_PROB = 0.3;
+    static final double PSO_MUTATION_PROB = 0.02;
+
+    // Mode swarm paralel (-Dpso.threads=N); 0 = mode sekuensial asli
+    private static final int PSO_THREADS = Integer.getInteger("pso.threads", 0);
+    // Sumber acak (-Dpso.rng=jdk|splittable|xoshiro); kosong = jdk (sekuensial) / splittable (paralel)
+    private static final String PSO_RNG = System.getProperty("pso.rng", "");
+    // Kernel update diskret (-Dpso.kernel=legacy|fast)
+    static final UpdateKernel PSO_KERNEL = UpdateKernel.of(System.getProperty("pso.kernel", "legacy"));
+    // Kriteria berhenti anytime, 0 = tidak aktif (-Dpso.budgetMs, -Dpso.stagnation, -Dpso.targetGap)
+    private static final long PSO_TIME_BUDGET_MS = Long.getLong("pso.budgetMs", 0L);
+    private static final int PSO_STAGNATION = Integer.getInteger("pso.stagnation", 0);
+    private static final double PSO_TARGET_GAP = Double.parseDouble(System.getProperty("pso.targetGap", "0"));
+    // Model pulau (-Dpso.islands=K, 0 = tidak aktif), migrasi tiap M iterasi sebanyak S partikel
+    private static final int PSO_ISLANDS = Integer.getInteger("pso.islands", 0);
+    private static final int PSO_MIGRATION_INTERVAL = Integer.getInteger("pso.migrationInterval", 10);
+    private static final int PSO_MIGRANTS = Integer.getInteger("pso.migrants", 2);
+    // Pencarian lokal pada gbest akhir (-Dpso.localSearch=true) dan/atau pbest tiap K iterasi
+    private static final boolean PSO_LOCAL_SEARCH = Boolean.getBoolean("pso.localSearch");
+    private static final int PSO_LOCAL_SEARCH_EVERY = Integer.getInteger("pso.localSearchEvery", 0);
+    private static final int PSO_LOCAL_SEARCH_STEPS = Integer.getInteger("pso.localSearchSteps", 100_000);
+    // Inisialisasi hangat swarm (-Dpso.seed=lpt:1,greedy:1,prev:1); kosong = semua partikel acak
+    private static final SwarmSeeding PSO_SEED = SwarmSeeding.parse(System.getProperty("pso.seed", ""));
+    // Seleksi akhir dari K kandidat terbaik lewat simulasi CloudSim (-Dpso.topK=K, 0 = gbest surrogate;
+    // hanya PSO sekuensial, diabaikan dengan pso.threads/pso.islands)
+    private static final int PSO_TOP_K = Integer.getInteger("pso.topK", 0);
+    // Worker simulasi top-k per classloader percobaan (-Dpso.topKThreads); dibatasi core yang tersisa
+    // dari sweep.workers, bawaan 1 bila sweep sudah paralel
+    private static final int PSO_TOP_K_THREADS = topKThreads();
+    // Mesin evaluasi pemetaan (-Dpso.engine=cloudsim|analytic|validate); validate = keduanya + laporan selisih
+    private static final String PSO_ENGINE = System.getProperty("pso.engine", "cloudsim");
+    // Waktu cloudlet tiba di datacenter pada alur DatacenterBroker (dipakai mesin analitik)
+    private static final double ANALYTIC_START_TIME = 0.4;
+
+    // gbest percobaan sebelumnya per dataset, dalam urutan cloudlet asli (sebelum diacak), untuk seed
+    // "prev"; per dataset karena farm menjalankan beberapa pso.sweep bersamaan di JVM yang sama
+    private static final Map<String, int[]> PREV_GBEST = new java.util.concurrent.ConcurrentHashMap<>();
 
     public static void main(String[] args) {
         System.out.println("CloudSim Simulation - PSO-based Cloudlet to VM Mapping (TimeShared)");
         System.out.println("Contoh path: datasets/randomSimple/RandSimple3000.txt");
 
         try (Scanner sc = new Scanner(System.in)) {
+            if (args.length > 0) {
+                // tanpa prompt, untuk sweep panjang dari skrip: <dataset> [label]
+                sweep(args[0], args.length > 1 ? args[1] : deriveDefaultLabel(args[0]));
+                return;
+            }
+
             System.out.print("Masukkan path file dataset: ");
             String datasetPath = sc.nextLine().trim();
             if (datasetPath.isEmpty()) {
@@ -76,187 +114,368 @@ public class pso {
                 datasetLabel = deriveDefaultLabel(datasetPath);
             }
 
-            final int TRIALS = 10;
-
-            ensureOutputDir();
-            String csvPath = OUTPUT_DIR + "/" + getFolderTag(datasetPath) + "_" + safeCsvName(datasetLabel) + "_PSO.csv";
-            initCsv(csvPath);
+            sweep(datasetPath, datasetLabel);
 
-            List<double[]> allTrials = new ArrayList<>();
-            for (int t = 1; t <= TRIALS; t++) {
-                Metrics m = runSingleSimulation(datasetPath, datasetLabel, t);
-                allTrials.add(m.toArray());
+        } catch (Exception e) {
+            System.out.println("Terjadi kesalahan:");
+            e.printStackTrace();
+        }
+    }
 
-                System.out.printf(Locale.US,
-                        "Percobaan %d | TotalCPU=%.2f, TotalWait=%.2f, AvgStart=%.2f, AvgExec=%.2f, AvgFinish=%.2f, Thpt=%.4f, Makespan=%.2f, Imbalance=%.4f, Util=%.4f, Energy=%.2f%n",
-                        t, m.totalCpuTime, m.totalWaitTime, m.avgStartTime, m.avgExecTime, m.avgFinishTime,
-                        m.throughput, m.makespan, m.imbalanceDegree, m.resourceUtilization, m.totalEnergy);
+    /** 10 percobaan satu dataset, ditulis ke CSV; dipakai main dan FarmCoordinator. */
+    static void sweep(String datasetPath, String datasetLabel) throws Exception {
+        final int TRIALS = 10;
 
-                appendCsv(csvPath, String.format(Locale.US,
-                        "%s,%d,%.4f,%.4f,%.4f,%.4f,%.4f,%.6f,%.4f,%.6f,%.6f,%.4f",
-                        datasetLabel, t, m.totalCpuTime, m.totalWaitTime, m.avgStartTime, m.avgExecTime,
-                        m.avgFinishTime, m.throughput, m.makespan, m.imbalanceDegree, m.resourceUtilization, m.totalEnergy));
-            }
+        ensureOutputDir();
+        String csvName = getFolderTag(datasetPath) + "_" + safeCsvName(datasetLabel) + "_PSO"
+                + (PhaseTimer.COLUMNS ? "_timed" : "");
+        String csvPath = ResultSink.path(OUTPUT_DIR + "/" + csvName);
 
-            Metrics avg = Metrics.average(allTrials);
-            System.out.println("\nRata-rata dari 10 percobaan:");
-            System.out.printf(Locale.US,
-                    "TotalCPU=%.2f, TotalWait=%.2f, AvgStart=%.2f, AvgExec=%.2f, AvgFinish=%.2f, Thpt=%.4f, Makespan=%.2f, Imbalance=%.4f, Util=%.4f, Energy=%.2f%n",
-                    avg.totalCpuTime, avg.totalWaitTime, avg.avgStartTime, avg.avgExecTime, avg.avgFinishTime,
-                    avg.throughput, avg.makespan, avg.imbalanceDegree, avg.resourceUtilization, avg.totalEnergy);
+        List<Object[]> runs = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+        for (int t = 1; t <= TRIALS; t++) {
+            runs.add(new Object[]{datasetPath, datasetLabel, t});
+            keys.add("trial-" + t);
+        }
 
-            System.out.println("CSV hasil disimpan di: " + csvPath);
+        // seed "prev" butuh gbest percobaan sebelumnya, jadi percobaan harus berurutan di JVM ini dan
+        // tidak bisa dilanjutkan dari checkpoint (gbest hilang bersama JVM yang mati)
+        SweepCheckpoint checkpoint = null;
+        if (!PSO_SEED.usesPrevious()) {
+            String fingerprint = ResultCache.key(datasetPath, "pso", datasetLabel,
+                    SweepCheckpoint.properties("pso.", "vm.", "result.format", "trial.timing"));
+            checkpoint = SweepCheckpoint.open(OUTPUT_DIR + "/checkpoint/" + csvName + ".ckpt", fingerprint, fileSize(csvPath));
+            checkpoint.rewind(csvPath);
+        } else if (SweepCheckpoint.resumeRequested()) {
+            System.out.println("Seed prev tidak bisa dilanjutkan dari checkpoint; semua percobaan dijalankan ulang.");
+        }
+        PREV_GBEST.remove(datasetPath); // percobaan 1 tiap sweep mulai tanpa gbest sebelumnya
+        if (PSO_TOP_K > 0 && (PSO_ISLANDS > 0 || PSO_THREADS > 0)) {
+            System.out.println("Peringatan: pso.topK hanya berlaku untuk PSO sekuensial; diabaikan dengan pso.threads/pso.islands.");
+        }
 
-        } catch (Exception e) {
-            System.out.println("Terjadi kesalahan:");
-            e.printStackTrace();
+        MetricsAccumulator.Trials trials = new MetricsAccumulator.Trials(BASE_COLUMNS + MetricsAccumulator.PERCENTILES);
+        try (SweepCheckpoint ck = checkpoint) {
+            try (ResultSink sink = ResultSink.open(OUTPUT_DIR + "/" + csvName, PhaseTimer.csvHeader(CSV_HEADER),
+                         PhaseTimer.withColumns(MetricsAccumulator.withPercentiles(ResultSink.valueColumns(CSV_HEADER))));
+                 SweepExecutor sweep = PSO_SEED.usesPrevious()
+                    ? new SweepExecutor(pso.class.getName(), "runTrial", 1)
+                    : new SweepExecutor(pso.class.getName(), "runTrial")) {
+                sweep.run(runs, keys, ck, (i, row) -> {
+                    int t = i + 1;
+                    Metrics m = Metrics.of(row);
+                    trials.add(row);
+
+                    System.out.printf(Locale.US,
+                            "Percobaan %d | TotalCPU=%.2f, TotalWait=%.2f, AvgStart=%.2f, AvgExec=%.2f, AvgFinish=%.2f, Thpt=%.4f, Makespan=%.2f, Imbalance=%.4f, Util=%.4f, Energy=%.2f%n",
+                            t, m.totalCpuTime, m.totalWaitTime, m.avgStartTime, m.avgExecTime, m.avgFinishTime,
+                            m.throughput, m.makespan, m.imbalanceDegree, m.resourceUtilization, m.totalEnergy);
+                    System.out.println("            " + MetricsAccumulator.formatPercentiles(m.percentiles, 0));
+
+                    sink.append(datasetLabel, t, row, String.format(Locale.US,
+                            "%s,%d,%.4f,%.4f,%.4f,%.4f,%.4f,%.6f,%.4f,%.6f,%.6f,%.4f",
+                            datasetLabel, t, m.totalCpuTime, m.totalWaitTime, m.avgStartTime, m.avgExecTime,
+                            m.avgFinishTime, m.throughput, m.makespan, m.imbalanceDegree, m.resourceUtilization, m.totalEnergy)
+                            + PhaseTimer.csvValues(row, BASE_COLUMNS + MetricsAccumulator.PERCENTILES));
+                });
+            } // sink ditutup (baris sudah di disk) sebelum checkpoint dibuang
+            if (ck != null) ck.complete();
         }
-    }
 
-    private static Metrics runSingleSimulation(String datasetPath, String datasetLabel, int trial) throws Exception {
-        long[] dataset = loadDataset(datasetPath);
+        Metrics avg = Metrics.of(trials.means());
+        System.out.println("\nRata-rata dari 10 percobaan:");
+        System.out.printf(Locale.US,
+                "TotalCPU=%.2f, TotalWait=%.2f, AvgStart=%.2f, AvgExec=%.2f, AvgFinish=%.2f, Thpt=%.4f, Makespan=%.2f, Imbalance=%.4f, Util=%.4f, Energy=%.2f%n",
+                avg.totalCpuTime, avg.totalWaitTime, avg.avgStartTime, avg.avgExecTime, avg.avgFinishTime,
+                avg.throughput, avg.makespan, avg.imbalanceDegree, avg.resourceUtilization, avg.totalEnergy);
+        System.out.printf(Locale.US, "Std Makespan=%.2f, %s%n",
+                trials.stddev(6), MetricsAccumulator.formatPercentiles(avg.percentiles, 0));
 
-        // Variasi agar tiap percobaan berbeda
-        shuffleArray(dataset, new Random(12345L + trial));
+        System.out.println("CSV hasil disimpan di: " + csvPath);
+    }
 
-        CloudSim.init(1, Calendar.getInstance(), false);
+    // titik masuk SweepExecutor: hanya tipe JDK yang melintasi classloader
+    private static double[] runTrial(String datasetPath, String datasetLabel, int trial) throws Exception {
+        PhaseTimer timer = new PhaseTimer(datasetPath, trial);
+        return timer.appendTo(runSingleSimulation(datasetPath, datasetLabel, trial, timer).toArray());
+    }
 
-        DatacenterBroker broker = new DatacenterBroker("Broker");
-        int brokerId = broker.getId();
+    static Metrics runSingleSimulation(String datasetPath, String datasetLabel, int trial) throws Exception {
+        PhaseTimer timer = new PhaseTimer(datasetPath, trial);
+        Metrics m = runSingleSimulation(datasetPath, datasetLabel, trial, timer);
+        timer.stop();
+        return m;
+    }
 
-        List<Datacenter> dcs = new ArrayList<>();
-        for (int i = 0; i < NUM_DATACENTERS; i++) {
-            dcs.add(createDatacenter("DC_" + i).datacenter);
+    // timer.start menandai awal tiap fase (event JFR soka.TrialPhase / kolom -Dtrial.timing)
+    private static Metrics runSingleSimulation(String datasetPath, String datasetLabel, int trial, PhaseTimer timer) throws Exception {
+        timer.start(PhaseTimer.Phase.LOAD);
+        long[] dataset = loadDataset(datasetPath);
+
+        // Variasi agar tiap percobaan berbeda; order[i] = indeks asli cloudlet ke-i
+        int[] order = new int[dataset.length];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        shuffleArray(dataset, order, new Random(12345L + trial));
+
+        // mesin analitik tidak butuh entitas CloudSim, hanya spesifikasi VM
+        boolean useCloudSim = !"analytic".equals(PSO_ENGINE);
+        DatacenterBroker broker = null;
+        int brokerId = -1;
+        if (useCloudSim) {
+            timer.start(PhaseTimer.Phase.INIT);
+            CloudSim.init(1, Calendar.getInstance(), false);
+
+            broker = new DatacenterBroker("Broker");
+            brokerId = broker.getId();
+
+            timer.start(PhaseTimer.Phase.INFRA);
+            List<Datacenter> dcs = new ArrayList<>();
+            for (int i = 0; i < NUM_DATACENTERS; i++) {
+                dcs.add(createDatacenter("DC_" + i).datacenter);
+            }
         }
 
+        timer.start(PhaseTimer.Phase.INFRA); // berlanjut dari datacenter; awal fase untuk mesin analitik
         int totalVm = NUM_DATACENTERS * HOSTS_PER_DC * VMS_PER_HOST; // 54
         Random vmRnd = new Random(999L + trial);
         List<Vm> vmList = createVmList(brokerId, totalVm, vmRnd);
-        broker.submitVmList(vmList);
+        if (broker != null) broker.submitVmList(vmList);
 
         // Jalankan PSO untuk menentukan pemetaan cloudlet -> VM
-        int[] mapping = psoAssign(dataset, vmList, new Random(2025L + trial));
+        timer.start(PhaseTimer.Phase.SCHEDULE);
+        long psoSeed = 2025L + trial;
+        double[] vmMips = vmMipsOf(vmList);
+        TerminationPolicy stop = new TerminationPolicy(PSO_ITERATIONS, PSO_TIME_BUDGET_MS, PSO_STAGNATION, PSO_TARGET_GAP);
+        int[][] seeds = swarmSeeds(datasetPath, dataset, vmMips, order);
+        PsoResult pr = (PSO_ISLANDS > 0)
+                ? psoAssignIslands(dataset, vmMips, PsoRandom.create(PSO_RNG.isEmpty() ? "splittable" : PSO_RNG, psoSeed), stop, seeds)
+                : (PSO_THREADS > 0)
+                ? psoAssignParallel(dataset, vmList, PsoRandom.create(PSO_RNG.isEmpty() ? "splittable" : PSO_RNG, psoSeed), PSO_THREADS, stop, seeds)
+                : psoAssign(dataset, vmMips, PsoRandom.create(PSO_RNG.isEmpty() ? "jdk" : PSO_RNG, psoSeed), PSO_KERNEL, stop, seeds);
+        // dengan top-k sekuensial pencarian lokal sudah dijalankan sebelum seleksi simulasi (psoAssign)
+        if (PSO_LOCAL_SEARCH && (PSO_TOP_K == 0 || PSO_ISLANDS > 0 || PSO_THREADS > 0)) pr = refineGbest(dataset, vmMips, pr);
+        System.out.println(pr.summary());
+        int[] mapping = pr.mapping;
+        if (PSO_SEED.usesPrevious()) rememberGbest(datasetPath, order, mapping);
+
+        if (!useCloudSim) {
+            timer.start(PhaseTimer.Phase.SIMULATION);
+            AnalyticSimulation sim = analyticSimulation(dataset, vmMips, mapping);
+            timer.start(PhaseTimer.Phase.METRICS);
+            return computeMetrics(sim, dataset, mapping, vmList);
+        }
 
         // Buat cloudlet dan set VM sesuai hasil PSO
+        timer.start(PhaseTimer.Phase.CLOUDLETS);
         List<Cloudlet> cloudlets = createCloudletsWithMapping(brokerId, vmList, dataset, mapping);
         broker.submitCloudletList(cloudlets);
 
+        timer.start(PhaseTimer.Phase.SIMULATION);
+        long simStart = System.nanoTime();
         CloudSim.startSimulation();
         List<Cloudlet> finished = broker.getCloudletReceivedList();
         CloudSim.stopSimulation();
+        double simMs = (System.nanoTime() - simStart) / 1e6;
+
+        timer.start(PhaseTimer.Phase.METRICS);
+        Metrics m = computeMetrics(finished, vmList, dataset.length);
+        timer.stop();
+        if ("validate".equals(PSO_ENGINE)) validateAnalytic(dataset, vmMips, mapping, vmList, finished, m, simMs);
+        return m;
+    }
+
+    static AnalyticSimulation analyticSimulation(long[] lengths, double[] vmMips, int[] mapping) {
+        return AnalyticSimulation.run(lengths, vmMips, mapping, CLOUDLET_PES, VM_PES, ANALYTIC_START_TIME);
+    }
 
-        return computeMetrics(finished, vmList, dataset.length);
+    // Bandingkan hasil CloudSim dengan mesin analitik untuk pemetaan yang sama
+    private static void validateAnalytic(long[] lengths, double[] vmMips, int[] mapping, List<Vm> vmList,
+                                         List<Cloudlet> finished, Metrics simulated, double simMs) {
+        long t0 = System.nanoTime();
+        AnalyticSimulation sim = analyticSimulation(lengths, vmMips, mapping);
+        Metrics analytic = computeMetrics(sim, lengths, mapping, vmList);
+        double analyticMs = (System.nanoTime() - t0) / 1e6;
+
+        double maxStart = 0, maxFinish = 0;
+        for (Cloudlet c : finished) {
+            int i = c.getCloudletId();
+            maxStart = Math.max(maxStart, Math.abs(c.getExecStartTime() - sim.start[i]));
+            maxFinish = Math.max(maxFinish, Math.abs(c.getFinishTime() - sim.finish[i]));
+        }
+        String[] names = MetricsAccumulator.withPercentiles(new String[]{"TotalCPU", "TotalWait", "AvgStart", "AvgExec",
+                "AvgFinish", "Thpt", "Makespan", "Imbalance", "Util", "Energy"});
+        double[] a = simulated.toArray(), b = analytic.toArray();
+        int worst = 0;
+        double worstRel = 0;
+        for (int k = 0; k < a.length; k++) {
+            double rel = Math.abs(a[k] - b[k]) / Math.max(Math.abs(a[k]), 1e-12);
+            if (rel > worstRel) { worstRel = rel; worst = k; }
+        }
+        System.out.printf(Locale.US,
+                "Validasi analitik: %d/%d cloudlet, maks |selisih mulai|=%.4f s, maks |selisih selesai|=%.4f s, makespan %.4f vs %.4f, selisih metrik terbesar %s=%.4f%%, CloudSim %.1f ms vs analitik %.2f ms%n",
+                finished.size(), lengths.length, maxStart, maxFinish, simulated.makespan, analytic.makespan,
+                names[worst], worstRel * 100, simMs, analyticMs);
     }
 
     // ===== PSO Discrete untuk minimisasi makespan estimasi =====
-    private static int[] psoAssign(long[] lengths, List<Vm> vmList, Random rnd) {
-        int n = lengths.length;
-        int m = vmList.size();
-
-        // kapasitas VM (MI per detik)
-        double[] vmMips = new double[m];
-        for (int j = 0; j < m; j++) vmMips[j] = vmList.get(j).getMips();
-
-        int[][] pos = new int[PSO_PARTICLES][n];
-        int[][] pbestPos = new int[PSO_PARTICLES][n];
-        double[] pbestVal = new double[PSO_PARTICLES];
-
-        // inisialisasi partikel
-        for (int p = 0; p < PSO_PARTICLES; p++) {
-            for (int i = 0; i < n; i++) pos[p][i] = rnd.nextInt(m);
-            pbestPos[p] = pos[p].clone();
-            pbestVal[p] = evalMakespan(lengths, vmMips, pos[p]);
+    static int[] psoAssign(long[] lengths, double[] vmMips, Random rnd) {
+        return psoAssign(lengths, vmMips, new PsoRandom.Jdk(rnd), PSO_KERNEL);
+    }
+
+    static int[] psoAssign(long[] lengths, double[] vmMips, PsoRandom rnd, UpdateKernel kernel) {
+        return psoAssign(lengths, vmMips, rnd, kernel, TerminationPolicy.iterations(PSO_ITERATIONS)).mapping;
+    }
+
+    static PsoResult psoAssign(long[] lengths, double[] vmMips, PsoRandom rnd, UpdateKernel kernel, TerminationPolicy stop) {
+        return psoAssign(lengths, vmMips, rnd, kernel, stop, new int[0][]);
+    }
+
+    static PsoResult psoAssign(long[] lengths, double[] vmMips, PsoRandom rnd, UpdateKernel kernel, TerminationPolicy stop,
+                               int[][] seeds) {
+        TerminationPolicy.Run run = stop.start(TerminationPolicy.lowerBound(lengths, vmMips));
+        Swarm swarm = new Swarm(lengths, vmMips, PSO_PARTICLES, rnd, kernel);
+        CandidateArchive archive = (PSO_TOP_K > 0) ? new CandidateArchive(PSO_TOP_K) : null;
+        swarm.archive(archive);
+        swarm.init(seeds);
+        LocalSearch ls = (PSO_LOCAL_SEARCH_EVERY > 0) ? new LocalSearch(lengths, vmMips, PSO_LOCAL_SEARCH_STEPS) : null;
+
+        TerminationPolicy.Reason reason = run.initial(swarm.gbestValue());
+        while (reason == null) {
+            swarm.iterate();
+            // hibrida: pbest dipoles pencarian lokal tiap K iterasi
+            if (ls != null && (run.iterations() + 1) % PSO_LOCAL_SEARCH_EVERY == 0) swarm.refinePbests(ls);
+            reason = run.after(swarm.gbestValue());
+        }
+        PsoResult result = run.finish(swarm.gbestMapping(), swarm.gbestValue(), reason);
+        if (archive == null) return result;
+        // gbest hasil pencarian lokal ikut bersaing di seleksi simulasi, bukan menggantikan pilihannya
+        if (PSO_LOCAL_SEARCH) result = refineGbest(lengths, vmMips, result);
+        try {
+            return TopKRefinement.refine(result, archive, lengths, vmMips, PSO_TOP_K_THREADS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return result;
+        } catch (Exception e) {
+            throw new IllegalStateException("Simulasi kandidat top-k gagal", e);
         }
+    }
 
-        // global best
-        int gIdx = argmin(pbestVal);
-        int[] gbestPos = pbestPos[gIdx].clone();
-        double gbestVal = pbestVal[gIdx];
-
-        for (int it = 0; it < PSO_ITERATIONS; it++) {
-            for (int p = 0; p < PSO_PARTICLES; p++) {
-                // update diskret per cloudlet
-                for (int i = 0; i < n; i++) {
-                    double r = rnd.nextDouble();
-                    if (r < PSO_KEEP_PROB) {
-                        // pertahankan
-                    } else if (r < PSO_KEEP_PROB + PSO_PBEST_PROB) {
-                        pos[p][i] = pbestPos[p][i];
-                    } else if (r < PSO_KEEP_PROB + PSO_PBEST_PROB + PSO_GBEST_PROB) {
-                        pos[p][i] = gbestPos[i];
-                    } else {
-                        pos[p][i] = rnd.nextInt(m);
-                    }
-                    // mutasi kecil
-                    if (rnd.nextDouble() < PSO_MUTATION_PROB) {
-                        pos[p][i] = rnd.nextInt(m);
-                    }
-                }
-
-                double val = evalMakespan(lengths, vmMips, pos[p]);
-                if (val < pbestVal[p]) {
-                    pbestVal[p] = val;
-                    pbestPos[p] = pos[p].clone();
-                    if (val < gbestVal) {
-                        gbestVal = val;
-                        gbestPos = pbestPos[p].clone();
-                    }
-                }
-            }
+    // titik masuk TopKRefinement (classloader terisolasi): satu simulasi CloudSim penuh untuk satu
+    // pemetaan dengan VM yang sama (MIPS vmMips); hasil {makespan, rata-rata waktu selesai}
+    private static double[] simulateCandidate(long[] lengths, double[] vmMips, int[] mapping) throws Exception {
+        Log.disable(); // hanya Log milik classloader ini
+        CloudSim.init(1, Calendar.getInstance(), false);
+        DatacenterBroker broker = new DatacenterBroker("Broker");
+        for (int i = 0; i < NUM_DATACENTERS; i++) createDatacenter("DC_" + i);
+        List<Vm> vmList = new ArrayList<>(vmMips.length);
+        for (int i = 0; i < vmMips.length; i++) vmList.add(newVm(i, broker.getId(), (int) vmMips[i]));
+        broker.submitVmList(vmList);
+        broker.submitCloudletList(createCloudletsWithMapping(broker.getId(), vmList, lengths, mapping));
+        CloudSim.startSimulation();
+        List<Cloudlet> finished = broker.getCloudletReceivedList();
+        CloudSim.stopSimulation();
+        Metrics m = computeMetrics(finished, vmList, lengths.length);
+        return new double[]{m.makespan, m.avgFinishTime};
+    }
+
+    // Varian paralel: partikel di-update & dievaluasi bersamaan, hasil deterministik per seed
+    static PsoResult psoAssignParallel(long[] lengths, List<Vm> vmList, PsoRandom root, int threads, TerminationPolicy stop,
+                                       int[][] seeds) {
+        return new ParallelSwarm(lengths, vmMipsOf(vmList), root, PSO_KERNEL, seeds).run(threads, stop);
+    }
+
+    // Varian model pulau: tiap pulau di thread sendiri, riwayat konvergensi per pulau dicetak
+    static PsoResult psoAssignIslands(long[] lengths, double[] vmMips, PsoRandom root, TerminationPolicy stop,
+                                      int[][] seeds) throws InterruptedException {
+        IslandModel model = new IslandModel(PSO_ISLANDS, PSO_MIGRATION_INTERVAL, PSO_MIGRANTS);
+        int threads = PSO_THREADS > 0 ? PSO_THREADS : PSO_ISLANDS;
+        IslandModel.Result r = model.run(lengths, vmMips, PSO_PARTICLES, root, PSO_KERNEL, stop, threads, seeds);
+        System.out.print("Konvergensi gbest per pulau:\n" + r.convergenceTable());
+        System.out.println("Gbest gabungan dari pulau " + r.bestIsland);
+        return r.best;
+    }
+
+    // Seed partikel awal sesuai -Dpso.seed; gbest percobaan lalu dipetakan ke urutan acak saat ini
+    private static int[][] swarmSeeds(String datasetPath, long[] lengths, double[] vmMips, int[] order) {
+        if (PSO_SEED.isEmpty()) return new int[0][];
+        int[] previous = null;
+        int[] original = PREV_GBEST.get(datasetPath);
+        if (original != null && original.length == order.length) {
+            previous = new int[order.length];
+            for (int i = 0; i < order.length; i++) previous[i] = original[order[i]];
         }
-        return gbestPos;
+        int capacity = PSO_PARTICLES * Math.max(1, PSO_ISLANDS);
+        int[][] seeds = PSO_SEED.build(lengths, vmMips, previous, capacity);
+        System.out.println("Seed swarm: " + PSO_SEED.describe() + " -> " + seeds.length + " partikel"
+                + (PSO_SEED.usesPrevious() && previous == null ? " (belum ada gbest percobaan sebelumnya)" : ""));
+        return seeds;
+    }
+
+    private static void rememberGbest(String datasetPath, int[] order, int[] mapping) {
+        int[] original = new int[mapping.length];
+        for (int i = 0; i < mapping.length; i++) original[order[i]] = mapping[i];
+        PREV_GBEST.put(datasetPath, original);
     }
 
-    private static double evalMakespan(long[] lengths, double[] vmMips, int[] assign) {
+    private static int topKThreads() {
+        int sweepWorkers = SweepExecutor.workers();
+        int free = Math.max(1, Runtime.getRuntime().availableProcessors() / sweepWorkers);
+        return Math.max(1, Math.min(free, Integer.getInteger("pso.topKThreads", sweepWorkers > 1 ? 1 : free)));
+    }
+
+    // Pencarian lokal (pindah/tukar dari VM beban maksimum) pada gbest hasil PSO
+    static PsoResult refineGbest(long[] lengths, double[] vmMips, PsoResult pr) {
+        long t0 = System.nanoTime();
+        LocalSearch ls = new LocalSearch(lengths, vmMips, PSO_LOCAL_SEARCH_STEPS);
+        int[] mapping = pr.mapping.clone();
+        double val = ls.improve(mapping);
+        System.out.printf(Locale.US, "Local search gbest: %.4f -> %.4f (%d pindah, %d tukar, %.1f ms)%n",
+                pr.makespan, val, ls.moves(), ls.swaps(), (System.nanoTime() - t0) / 1e6);
+        if (val >= pr.makespan) return pr;
+        return pr.refined(mapping, val, pr.refinement);
+    }
+
+    static double[] vmMipsOf(List<Vm> vmList) {
+        double[] vmMips = new double[vmList.size()];
+        for (int j = 0; j < vmMips.length; j++) vmMips[j] = vmList.get(j).getMips();
+        return vmMips;
+    }
+
+    // Total MI per VM dijumlah eksak (long) lalu dibagi MIPS sekali per VM, sehingga
+    // hasilnya tidak bergantung urutan penjumlahan dan sama persis dengan MakespanTracker.
+    static double evalMakespan(long[] lengths, double[] vmMips, int[] assign) {
         int m = vmMips.length;
-        double[] load = new double[m]; // total waktu kerja estimasi per VM (detik)
-        for (int i = 0; i < lengths.length; i++) {
-            int v = assign[i];
-            double t = lengths[i] / vmMips[v]; // detik
-            load[v] += t;
-        }
+        long[] mi = new long[m]; // total MI per VM
+        for (int i = 0; i < lengths.length; i++) mi[assign[i]] += lengths[i];
         double max = 0;
-        for (double x : load) if (x > max) max = x;
+        for (int v = 0; v < m; v++) {
+            double t = mi[v] / vmMips[v]; // detik
+            if (t > max) max = t;
+        }
         return max;
     }
 
-    private static int argmin(double[] a) {
-        int idx = 0;
-        double best = a[0];
-        for (int i = 1; i < a.length; i++) if (a[i] < best) { best = a[i]; idx = i; }
-        return idx;
-    }
-
     // ===== CloudSim helpers =====
-    private static long[] loadDataset(String filePath) throws IOException {
-        List<Long> vals = new ArrayList<>();
-        try (BufferedReader br = new BufferedReader(new FileReader(filePath))) {
-            String s;
-            while ((s = br.readLine()) != null) {
-                s = s.trim();
-                if (s.isEmpty()) continue;
-                try { vals.add(Long.parseLong(s)); } catch (NumberFormatException ignored) {}
-            }
-        }
-        long[] arr = new long[vals.size()];
-        for (int i = 0; i < vals.size(); i++) arr[i] = vals.get(i);
-        return arr;
+    // Parse teks sekali, selanjutnya dari sidecar biner / cache memori (lihat DatasetCache)
+    static long[] loadDataset(String filePath) throws IOException {
+        return DatasetCache.load(filePath);
     }
 
-    private static void shuffleArray(long[] a, Random rnd) {
+    private static void shuffleArray(long[] a, int[] order, Random rnd) {
         for (int i = a.length - 1; i > 0; i--) {
             int j = rnd.nextInt(i + 1);
             long tmp = a[i]; a[i] = a[j]; a[j] = tmp;
+            int o = order[i]; order[i] = order[j]; order[j] = o;
         }
     }
 
-    private static class DatacenterInfo {
+    static class DatacenterInfo {
         Datacenter datacenter;
         DatacenterCharacteristics characteristics;
         DatacenterInfo(Datacenter d, DatacenterCharacteristics c) { datacenter = d; characteristics = c; }
     }
 
-    private static DatacenterInfo createDatacenter(String name) throws Exception {
+    static DatacenterInfo createDatacenter(String name) throws Exception {
         List<Host> hostList = new ArrayList<>();
         for (int h = 0; h < HOSTS_PER_DC; h++) {
             List<Pe> peList = new ArrayList<>();
@@ -289,24 +508,27 @@ public class pso {
         return new DatacenterInfo(dc, ch);
     }
 
-    private static List<Vm> createVmList(int brokerId, int totalVm, Random rnd) {
+    static List<Vm> createVmList(int brokerId, int totalVm, Random rnd) {
         List<Vm> list = new ArrayList<>(totalVm);
         for (int i = 0; i < totalVm; i++) {
             int mips = VM_MIPS_BASE;
             if (VARIASI_VM_MIPS) {
                 mips = (int) Math.round(VM_MIPS_BASE * (0.9 + rnd.nextDouble() * 0.2));
             }
-            Vm vm = new Vm(
-                    i, brokerId, mips, VM_PES,
-                    VM_RAM_MB, VM_BW, VM_STORAGE_MB, "Xen",
-                    new CloudletSchedulerTimeShared()
-            );
-            list.add(vm);
+            list.add(newVm(i, brokerId, mips));
         }
         return list;
     }
 
-    private static List<Cloudlet> createCloudletsWithMapping(int brokerId, List<Vm> vmList, long[] lengths, int[] mapping) {
+    private static Vm newVm(int id, int brokerId, int mips) {
+        return new Vm(
+                id, brokerId, mips, VM_PES,
+                VM_RAM_MB, VM_BW, VM_STORAGE_MB, "Xen",
+                CloudletSchedulerTimeSharedPq.create()
+        );
+    }
+
+    static List<Cloudlet> createCloudletsWithMapping(int brokerId, List<Vm> vmList, long[] lengths, int[] mapping) {
         List<Cloudlet> list = new ArrayList<>(lengths.length);
         UtilizationModel util = new UtilizationModelFull();
         for (int i = 0; i < lengths.length; i++) {
@@ -320,7 +542,7 @@ public class pso {
     }
 
     // ===== Metrik & CSV =====
-    private static class Metrics {
+    static class Metrics {
         double totalCpuTime;
         double totalWaitTime;
         double avgStartTime;
@@ -331,101 +553,88 @@ public class pso {
         double imbalanceDegree;
         double resourceUtilization;
         double totalEnergy;
+        // urutan MetricsAccumulator.PERCENTILE_COLUMNS; tidak masuk CSV, hanya jsonl/bin dan konsol
+        final double[] percentiles = new double[MetricsAccumulator.PERCENTILES];
 
         double[] toArray() {
-            return new double[]{
+            double[] r = Arrays.copyOf(new double[]{
                     totalCpuTime, totalWaitTime, avgStartTime, avgExecTime,
                     avgFinishTime, throughput, makespan, imbalanceDegree,
                     resourceUtilization, totalEnergy
-            };
+            }, BASE_COLUMNS + MetricsAccumulator.PERCENTILES);
+            System.arraycopy(percentiles, 0, r, BASE_COLUMNS, percentiles.length);
+            return r;
         }
 
-        static Metrics average(List<double[]> rows) {
+        static Metrics of(double[] r) {
             Metrics m = new Metrics();
-            int n = rows.size();
-            for (double[] r : rows) {
-                m.totalCpuTime += r[0];
-                m.totalWaitTime += r[1];
-                m.avgStartTime += r[2];
-                m.avgExecTime += r[3];
-                m.avgFinishTime += r[4];
-                m.throughput += r[5];
-                m.makespan += r[6];
-                m.imbalanceDegree += r[7];
-                m.resourceUtilization += r[8];
-                m.totalEnergy += r[9];
-            }
-            m.totalCpuTime /= n;
-            m.totalWaitTime /= n;
-            m.avgStartTime /= n;
-            m.avgExecTime /= n;
-            m.avgFinishTime /= n;
-            m.throughput /= n;
-            m.makespan /= n;
-            m.imbalanceDegree /= n;
-            m.resourceUtilization /= n;
-            m.totalEnergy /= n;
+            m.totalCpuTime = r[0];
+            m.totalWaitTime = r[1];
+            m.avgStartTime = r[2];
+            m.avgExecTime = r[3];
+            m.avgFinishTime = r[4];
+            m.throughput = r[5];
+            m.makespan = r[6];
+            m.imbalanceDegree = r[7];
+            m.resourceUtilization = r[8];
+            m.totalEnergy = r[9];
+            System.arraycopy(r, BASE_COLUMNS, m.percentiles, 0, m.percentiles.length);
             return m;
         }
     }
 
-    private static Metrics computeMetrics(List<Cloudlet> finished, List<Vm> vmList, int totalCloudlets) {
-        Metrics m = new Metrics();
-        if (finished == null || finished.isEmpty()) return m;
-
-        double sumStart = 0, sumExec = 0, sumFinish = 0;
-        double minStart = Double.POSITIVE_INFINITY, maxFinish = 0;
-        double totalCpu = 0, totalWait = 0;
-
-        Map<Integer, Double> workPerVm = new HashMap<>();
-        for (Vm vm : vmList) workPerVm.put(vm.getId(), 0.0);
-
-        for (Cloudlet c : finished) {
-            double start = c.getExecStartTime();
-            double finish = c.getFinishTime();
-            double cpu = c.getActualCPUTime();
-            double wait = c.getWaitingTime();
+    static Metrics computeMetrics(List<Cloudlet> finished, List<Vm> vmList, int totalCloudlets) {
+        if (finished == null || finished.isEmpty()) return new Metrics();
+        MetricsAccumulator acc = accumulator(vmList);
+        for (Cloudlet c : finished) acc.add(c);
+        return computeMetrics(acc, vmList);
+    }
 
-            sumStart += start;
-            sumExec += cpu;
-            sumFinish += finish;
-            if (start < minStart) minStart = start;
-            if (finish > maxFinish) maxFinish = finish;
+    // Metrik dari mesin analitik: semua cloudlet mulai bersamaan, tanpa antre
+    private static Metrics computeMetrics(AnalyticSimulation sim, long[] lengths, int[] mapping, List<Vm> vmList) {
+        if (lengths.length == 0) return new Metrics();
+        MetricsAccumulator acc = accumulator(vmList);
+        for (int i = 0; i < lengths.length; i++) {
+            acc.add(sim.start[i], sim.start[i], sim.finish[i], sim.finish[i] - sim.start[i], 0.0,
+                    lengths[i], vmList.get(mapping[i]).getId());
+        }
+        return computeMetrics(acc, vmList);
+    }
 
-            totalCpu += cpu;
-            totalWait += wait;
+    // VM tanpa cloudlet tetap dihitung (beban 0) dalam imbalance
+    private static MetricsAccumulator accumulator(List<Vm> vmList) {
+        MetricsAccumulator acc = new MetricsAccumulator(vmList.size());
+        for (Vm vm : vmList) acc.registerVm(vm.getId());
+        return acc;
+    }
 
-            workPerVm.put(c.getVmId(), workPerVm.getOrDefault(c.getVmId(), 0.0) + c.getCloudletLength());
-        }
+    // per cloudlet selesai, dalam urutan diterima broker
+    private static Metrics computeMetrics(MetricsAccumulator acc, List<Vm> vmList) {
+        Metrics m = new Metrics();
+        long n = acc.count();
+        double maxFinish = Math.max(0, acc.maxFinish());
 
-        int n = finished.size();
-        m.totalCpuTime = totalCpu;
-        m.totalWaitTime = totalWait;
-        m.avgStartTime = sumStart / n;
-        m.avgExecTime = sumExec / n;
-        m.avgFinishTime = sumFinish / n;
+        m.totalCpuTime = acc.sumExec();
+        m.totalWaitTime = acc.sumWait();
+        m.avgStartTime = acc.sumStart() / n;
+        m.avgExecTime = acc.sumExec() / n;
+        m.avgFinishTime = acc.sumFinish() / n;
 
         m.makespan = maxFinish;
-        double busyWindow = Math.max(1e-9, maxFinish - Math.max(0, minStart));
+        double busyWindow = Math.max(1e-9, maxFinish - Math.max(0, acc.minStart()));
         m.throughput = n / busyWindow;
 
-        double maxLoad = 0, minLoad = Double.POSITIVE_INFINITY;
-        for (double mi : workPerVm.values()) {
-            maxLoad = Math.max(maxLoad, mi);
-            minLoad = Math.min(minLoad, mi);
-        }
-        m.imbalanceDegree = (maxLoad == 0) ? 0 : (maxLoad - minLoad) / maxLoad;
+        m.imbalanceDegree = acc.workImbalance();
 
         double totalVmCapacityPerSec = 0;
         for (Vm vm : vmList) totalVmCapacityPerSec += vm.getMips();
         double capacityOverWindow = totalVmCapacityPerSec * busyWindow;
-        double totalMiExecuted = 0;
-        for (Cloudlet c : finished) totalMiExecuted += c.getCloudletLength();
-        m.resourceUtilization = (capacityOverWindow == 0) ? 0 : (totalMiExecuted / capacityOverWindow);
+        m.resourceUtilization = (capacityOverWindow == 0) ? 0 : (acc.sumLength() / capacityOverWindow);
 
         int activeHosts = NUM_DATACENTERS * HOSTS_PER_DC;
         m.totalEnergy = activeHosts * HOST_POWER * m.makespan;
 
+        acc.percentiles(m.percentiles, 0);
         return m;
     }
 
@@ -438,19 +647,9 @@ public class pso {
         return datasetPath.replaceAll("[^a-zA-Z0-9-_\\.]", "_");
     }
 
-    private static void initCsv(String csvPath) throws IOException {
-        java.io.File f = new java.io.File(csvPath);
-        if (!f.exists()) {
-            try (PrintWriter pw = new PrintWriter(new FileWriter(f, false))) {
-                pw.println(CSV_HEADER);
-            }
-        }
-    }
-
-    private static void appendCsv(String csvPath, String line) throws IOException {
-        try (PrintWriter pw = new PrintWriter(new FileWriter(csvPath, true))) {
-            pw.println(line);
-        }
+    private static long fileSize(String path) throws IOException {
+        Path p = Paths.get(path);
+        return Files.exists(p) ? Files.size(p) : 0;
     }
 
     private static String getFolderTag(String datasetPath) {
@@ -460,7 +659,7 @@ public class pso {
         return "dataset";
     }
 
-    private static String deriveDefaultLabel(String datasetPath) {
+    static String deriveDefaultLabel(String datasetPath) {
         String p = datasetPath.replace('\\', '/');
         String file = p.substring(p.lastIndexOf('/') + 1);
         int dot = file.lastIndexOf('.');